@@ -0,0 +1,71 @@
+package com.tourism.benchmarks;
+
+import com.tourism.database.DatabaseManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+/**
+ * A temporary SQLite database filled by SyntheticDataGenerator.
+ *
+ * The fixed seed means every run sees the same data. Reviews and saved places
+ * are skewed towards popular destinations, as in production. No image files
+ * are written.
+ */
+public class BenchmarkDatabase implements AutoCloseable {
+
+    private final Path file;
+    private final DatabaseManager dbManager;
+    private final int destinations;
+    private final int users;
+
+    private BenchmarkDatabase(Path file, int destinations, int users) {
+        this.file = file;
+        this.destinations = destinations;
+        this.users = users;
+        this.dbManager = new DatabaseManager(file.toString());
+    }
+
+    /**
+     * Creates and seeds a new temporary database.
+     * @param destinations     number of destinations
+     * @param imagesPerPlace   images per destination
+     * @param reviewsPerPlace  reviews per destination, on average
+     * @param users            number of users
+     * @param savedPerUser     saved places per user (duplicates are dropped)
+     */
+    public static BenchmarkDatabase create(int destinations, int imagesPerPlace, int reviewsPerPlace,
+                                           int users, int savedPerUser) throws IOException, SQLException {
+        Path file = Files.createTempFile("tourism-bench-", ".db");
+        new SyntheticDataGenerator(new SyntheticDataGenerator.Config()
+                .destinations(destinations)
+                .imagesPerPlace(imagesPerPlace)
+                .reviews(destinations * reviewsPerPlace)
+                .users(users)
+                .savedPerUser(savedPerUser))
+                .generate(file);
+        return new BenchmarkDatabase(file, destinations, users);
+    }
+
+    public DatabaseManager getDatabaseManager() {
+        return dbManager;
+    }
+
+    public int getDestinationCount() {
+        return destinations;
+    }
+
+    public int getUserCount() {
+        return users;
+    }
+
+    /**
+     * Deletes the database file.
+     */
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,121 @@
+package com.tourism.benchmarks;
+
+import com.tourism.database.DatabaseManager;
+import com.tourism.model.Destination;
+import com.tourism.model.DestinationSummary;
+import com.tourism.model.Review;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the DatabaseManager calls the GUI makes on every screen.
+ *
+ * Each trial seeds a fresh temporary database with {@code destinations} rows
+ * (and proportional images, reviews, users and saved places). Listings are
+ * measured twice: "warm" is what the dashboard sees from the catalog cache,
+ * "cold" drops the cache first so the SQL query is measured as well.
+ *
+ * Example: java -jar benchmarks/target/benchmarks.jar DatabaseManagerBenchmark -p destinations=1000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatabaseManagerBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int destinations;
+
+    @Param({"3"})
+    public int imagesPerPlace;
+
+    @Param({"10"})
+    public int reviewsPerPlace;
+
+    /** Only the listing benchmarks are run once per sort order. */
+    @State(Scope.Benchmark)
+    public static class SortOrder {
+        @Param({"default", "popularity", "price", "name"})
+        public String sortBy;
+    }
+
+    private BenchmarkDatabase database;
+    private DatabaseManager dbManager;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        int users = Math.max(10, destinations / 10);
+        database = BenchmarkDatabase.create(destinations, imagesPerPlace, reviewsPerPlace, users, 20);
+        dbManager = database.getDatabaseManager();
+        random = new Random(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    private int randomDestinationId() {
+        return 1 + random.nextInt(database.getDestinationCount());
+    }
+
+    private int randomUserId() {
+        return 1 + random.nextInt(database.getUserCount());
+    }
+
+    @Benchmark
+    public List<DestinationSummary> getAllDestinationsWarm(SortOrder order) {
+        return dbManager.getAllDestinations(order.sortBy);
+    }
+
+    @Benchmark
+    public List<DestinationSummary> getAllDestinationsCold(SortOrder order) {
+        dbManager.invalidateCatalog();
+        return dbManager.getAllDestinations(order.sortBy);
+    }
+
+    @Benchmark
+    public List<DestinationSummary> searchDestinations() {
+        // A location shared by about a tenth of the rows
+        return dbManager.searchDestinations("Kerala");
+    }
+
+    @Benchmark
+    public Destination getDestinationById() {
+        return dbManager.getDestinationById(randomDestinationId(), randomUserId());
+    }
+
+    @Benchmark
+    public List<Review> getReviewsForDestination() {
+        return dbManager.getReviewsForDestination(randomDestinationId());
+    }
+
+    @Benchmark
+    public List<DestinationSummary> getSavedDestinations() {
+        return dbManager.getSavedDestinations(randomUserId());
+    }
+
+    @Benchmark
+    public List<DestinationSummary> getSavedDestinationsPage() {
+        // The first page of the saved places table, sorted by name
+        return dbManager.getSavedDestinationsPage(randomUserId(), "name", true, 0, 50);
+    }
+}
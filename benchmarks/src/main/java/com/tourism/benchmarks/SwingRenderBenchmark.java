@@ -0,0 +1,257 @@
+package com.tourism.benchmarks;
+
+import com.formdev.flatlaf.FlatLightLaf;
+import com.tourism.database.AsyncDatabaseManager;
+import com.tourism.gui.DashboardBenchmarkAccess;
+import com.tourism.gui.DashboardPanel;
+import com.tourism.gui.components.CardFactory;
+import com.tourism.gui.components.PaintedDestinationCard;
+import com.tourism.gui.components.WrapLayout;
+import com.tourism.model.DestinationSummary;
+import com.tourism.user.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless benchmarks of the dashboard's card building, layout and painting.
+ *
+ * Runs with java.awt.headless=true and paints into an offscreen BufferedImage, so it
+ * needs no display. Components are never shown, so the benchmark thread may build
+ * and paint them directly.
+ *
+ * Run with the GC profiler to get allocations per card (gc.alloc.rate.norm of
+ * createDestinationCard and createPaintedCard, which build exactly one card per operation):
+ *   java -jar benchmarks/target/benchmarks.jar SwingRenderBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SwingRenderBenchmark {
+
+    private static final int CARD_WIDTH = 300;
+    private static final int CARD_HEIGHT = 320;
+
+    /** Summaries without an image use the bundled placeholder, so no file I/O is measured. */
+    static List<DestinationSummary> summaries(int count) {
+        List<DestinationSummary> list = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            list.add(new DestinationSummary(i, "Destination " + i, "Location " + (i % 10),
+                    String.format("%,d", 1000 + i * 7), 1000 + i * 7, (i % 100) / 10.0, null));
+        }
+        return list;
+    }
+
+    static void installLookAndFeel() throws UnsupportedLookAndFeelException {
+        System.setProperty("java.awt.headless", "true");
+        UIManager.setLookAndFeel(new FlatLightLaf());
+    }
+
+    /** Lays out a component tree that is not attached to a window. */
+    static void layoutTree(Component component) {
+        if (component instanceof Container) {
+            Container container = (Container) component;
+            container.doLayout();
+            for (Component child : container.getComponents()) {
+                layoutTree(child);
+            }
+        }
+    }
+
+    // --- Card creation ---
+
+    @State(Scope.Thread)
+    public static class CardState {
+        List<DestinationSummary> destinations;
+        int next = 0;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            installLookAndFeel();
+            destinations = summaries(1000);
+        }
+
+        DestinationSummary nextDestination() {
+            DestinationSummary dest = destinations.get(next);
+            next = (next + 1) % destinations.size();
+            return dest;
+        }
+    }
+
+    @Benchmark
+    public JPanel createDestinationCard(CardState state) {
+        return CardFactory.createDestinationCard(state.nextDestination(), null);
+    }
+
+    @Benchmark
+    public PaintedDestinationCard createPaintedCard(CardState state) {
+        return new PaintedDestinationCard(state.nextDestination(), null);
+    }
+
+    // --- WrapLayout ---
+
+    /**
+     * A panel that reports itself valid until invalidated, as a laid-out component
+     * on screen does. Headless components have no peer and are never valid, which
+     * would make WrapLayout recheck every child on every call.
+     */
+    static class ShownPanel extends JPanel {
+        private boolean shownValid = true;
+
+        ShownPanel(LayoutManager layout) {
+            super(layout);
+        }
+
+        @Override
+        public boolean isValid() {
+            return shownValid;
+        }
+
+        @Override
+        public void invalidate() {
+            shownValid = false;
+            super.invalidate();
+        }
+
+        /** Marks the panel and its children valid, as Container.validate would on screen. */
+        void markValid() {
+            shownValid = true;
+            for (Component child : getComponents()) {
+                if (child instanceof ShownPanel) {
+                    ((ShownPanel) child).markValid();
+                }
+            }
+        }
+    }
+
+    /**
+     * WrapLayout caches child sizes until the container is invalidated, so
+     * wrapLayoutPreferredSize measures the cached path, wrapLayoutRemeasure a
+     * revalidation after the cards changed, and wrapLayoutResize a window resize.
+     */
+    @State(Scope.Thread)
+    public static class LayoutState {
+        @Param({"10", "100", "1000", "10000"})
+        public int children;
+
+        @Param({"640", "1280", "1920"})
+        public int width;
+
+        ShownPanel container;
+        WrapLayout layout;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            installLookAndFeel();
+            layout = new WrapLayout(WrapLayout.LEFT, 20, 20);
+            container = new ShownPanel(layout);
+            // The layout only reads preferred sizes, so card-sized panels stand in for
+            // cards; 10k real cards would mostly measure their images' memory
+            for (int i = 0; i < children; i++) {
+                JPanel card = new ShownPanel(new FlowLayout());
+                card.setPreferredSize(new Dimension(CARD_WIDTH, CARD_HEIGHT));
+                container.add(card);
+            }
+            container.setSize(width, CARD_HEIGHT);
+            layout.layoutContainer(container);
+            container.markValid();
+        }
+
+        /** Alternates the width by one pixel, as a drag-resize does. */
+        void resize() {
+            int current = container.getWidth();
+            container.setSize(current == width ? width + 1 : width, CARD_HEIGHT);
+        }
+    }
+
+    @Benchmark
+    public Dimension wrapLayoutPreferredSize(LayoutState state) {
+        return state.layout.preferredLayoutSize(state.container);
+    }
+
+    @Benchmark
+    public Dimension wrapLayoutRemeasure(LayoutState state) {
+        state.container.invalidate();
+        Dimension size = state.layout.preferredLayoutSize(state.container);
+        state.layout.layoutContainer(state.container);
+        return size;
+    }
+
+    @Benchmark
+    public Dimension wrapLayoutResize(LayoutState state) {
+        state.resize();
+        Dimension size = state.layout.preferredLayoutSize(state.container);
+        state.layout.layoutContainer(state.container);
+        return size;
+    }
+
+    // --- Full dashboard paint ---
+
+    @State(Scope.Thread)
+    public static class DashboardState {
+        @Param({"20", "200"})
+        public int cards;
+
+        @Param({CardFactory.STANDARD_STYLE, CardFactory.LIGHTWEIGHT_STYLE})
+        public String cardStyle;
+
+        BenchmarkDatabase database;
+        DashboardPanel dashboard;
+        BufferedImage canvas;
+        Graphics2D graphics;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            installLookAndFeel();
+            // The panel needs a database to construct; the cards shown come from summaries()
+            database = BenchmarkDatabase.create(cards, 0, 0, 1, 0);
+            UserService userService = new UserService(database.getDatabaseManager());
+            userService.setCardStyle(cardStyle);
+            dashboard = new DashboardPanel(null, new AsyncDatabaseManager(database.getDatabaseManager()), userService);
+            DashboardBenchmarkAccess.showDestinations(dashboard, summaries(cards));
+            dashboard.setSize(1280, 800);
+            layoutTree(dashboard);
+            canvas = new BufferedImage(1280, 800, BufferedImage.TYPE_INT_RGB);
+            graphics = canvas.createGraphics();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            graphics.dispose();
+            database.close();
+        }
+    }
+
+    @Benchmark
+    public BufferedImage paintDashboard(DashboardState state) {
+        state.dashboard.paint(state.graphics);
+        return state.canvas;
+    }
+
+    @Benchmark
+    public BufferedImage rebuildLayoutAndPaintDashboard(DashboardState state) {
+        DashboardBenchmarkAccess.showDestinations(state.dashboard, summaries(state.cards));
+        layoutTree(state.dashboard);
+        state.dashboard.paint(state.graphics);
+        return state.canvas;
+    }
+}
@@ -0,0 +1,389 @@
+package com.tourism.benchmarks;
+
+import com.tourism.database.DatabaseManager;
+import org.mindrot.jbcrypt.BCrypt;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Deterministic generator of large tourism.db files for benchmarks and soak testing.
+ *
+ * Creates destinations, their images, users, saved places and reviews with configurable
+ * cardinalities. Reviews and saved places follow a Zipf distribution over destinations,
+ * so a few popular places collect most of them, like in production. The same seed
+ * always produces the same database. Rows are written with batched statements in
+ * chunked transactions; the schema comes from DatabaseManager itself.
+ *
+ * Every generated user can sign in with the password "password".
+ *
+ * Command line (all options optional):
+ *   java -cp benchmarks/target/benchmarks.jar com.tourism.benchmarks.SyntheticDataGenerator
+ *        --db soak/tourism.db --destinations 5000 --users 1000 --reviews 200000
+ *        --images-per-place 4 --saved-per-user 15 --skew 1.1 --seed 42
+ *        --image-dir soak/images --image-size 1600x1200
+ * Without --image-dir no image files are written and the rows point to missing files
+ * (the app shows its placeholder). The database file must not exist yet; the
+ * default, soak/tourism.db, keeps it apart from the app's own tourism.db. The app
+ * opens tourism.db in its working directory, so run it from soak to use it.
+ */
+public class SyntheticDataGenerator {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final int ROWS_PER_TRANSACTION = 50_000;
+    private static final String PASSWORD = "password";
+
+    private static final String[] REGIONS = {
+            "Goa", "Kerala", "Rajasthan", "Himachal Pradesh", "Uttarakhand", "Sikkim", "Ladakh",
+            "Tamil Nadu", "Karnataka", "Meghalaya", "Assam", "Odisha", "Gujarat", "Punjab", "Maharashtra"
+    };
+    private static final String[] PREFIXES = {
+            "Old", "Upper", "Lower", "Great", "Hidden", "Royal", "Silver", "Golden", "Green", "Blue"
+    };
+    private static final String[] FEATURES = {
+            "Fort", "Lake", "Valley", "Beach", "Temple", "Palace", "Hills", "Falls", "Market", "Caves",
+            "Sanctuary", "Ghats", "Monastery", "Island", "Gardens"
+    };
+    private static final String[] COMMENTS = {
+            "Beautiful place, worth the trip.", "Too crowded on weekends.", "Great food nearby.",
+            "Loved the views at sunset.", "A bit expensive but memorable.", "Go early in the morning.",
+            "Perfect for families.", "Roads were rough, the destination made up for it."
+    };
+
+    /** Cardinalities and options. Setters return this so they can be chained. */
+    public static class Config {
+        int destinations = 1_000;
+        int users = 200;
+        int reviews = 20_000;
+        int imagesPerPlace = 3;
+        int savedPerUser = 10;
+        double skew = 1.0;
+        long seed = 42;
+        Path imageDir = null;
+        int imageWidth = 1600;
+        int imageHeight = 1200;
+
+        public Config destinations(int destinations) { this.destinations = destinations; return this; }
+        public Config users(int users) { this.users = users; return this; }
+        public Config reviews(int reviews) { this.reviews = reviews; return this; }
+        public Config imagesPerPlace(int imagesPerPlace) { this.imagesPerPlace = imagesPerPlace; return this; }
+        public Config savedPerUser(int savedPerUser) { this.savedPerUser = savedPerUser; return this; }
+        /** Zipf exponent of reviews and saves over destinations; 0 is uniform. */
+        public Config skew(double skew) { this.skew = skew; return this; }
+        public Config seed(long seed) { this.seed = seed; return this; }
+        /** Directory to write JPEG files to, or null to only write the rows. */
+        public Config imageDir(Path imageDir) { this.imageDir = imageDir; return this; }
+        public Config imageSize(int width, int height) { this.imageWidth = width; this.imageHeight = height; return this; }
+    }
+
+    private final Config config;
+    private final Random random;
+    private final ZipfSampler popularity;
+
+    public SyntheticDataGenerator(Config config) {
+        this.config = config;
+        this.random = new Random(config.seed);
+        this.popularity = new ZipfSampler(Math.max(1, config.destinations), config.skew);
+    }
+
+    /**
+     * Creates the schema in dbFile (if needed) and appends the generated rows.
+     * Destination ids start at 1, so dbFile should be new or empty.
+     */
+    public void generate(Path dbFile) throws SQLException, IOException {
+        Files.createDirectories(dbFile.toAbsolutePath().getParent());
+        new DatabaseManager(dbFile.toString()); // Creates tables and indexes
+        if (config.imageDir != null) {
+            Files.createDirectories(config.imageDir);
+        }
+
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile)) {
+            conn.setAutoCommit(false);
+            insertDestinations(conn);
+            insertUsers(conn);
+            insertSavedPlaces(conn);
+            insertReviews(conn);
+            conn.commit();
+        }
+    }
+
+    private void insertDestinations(Connection conn) throws SQLException, IOException {
+        String destSql = "INSERT INTO destinations(id, name, location, description, price, popularity, tourist_spots, local_spots, shops) "
+                + "VALUES(?,?,?,?,?,?,?,?,?)";
+        String imageSql = "INSERT INTO destination_images(destination_id, image_path) VALUES(?,?)";
+
+        try (PreparedStatement dest = conn.prepareStatement(destSql);
+             PreparedStatement image = conn.prepareStatement(imageSql)) {
+            Batch destBatch = new Batch(conn, dest);
+            Batch imageBatch = new Batch(conn, image);
+
+            for (int id = 1; id <= config.destinations; id++) {
+                String region = pick(REGIONS);
+                String name = pick(PREFIXES) + " " + region + " " + pick(FEATURES) + " " + id;
+                // Popularity follows the same ranking as reviews: id 1 is the most popular
+                double rating = Math.max(1.0, 9.8 - 8.0 * (id - 1) / Math.max(1, config.destinations) + random.nextGaussian() * 0.4);
+
+                dest.setInt(1, id);
+                dest.setString(2, name);
+                dest.setString(3, region);
+                dest.setString(4, paragraph(3 + random.nextInt(6)));
+                dest.setString(5, String.format(Locale.US, "%,d", (2 + random.nextInt(98)) * 1_000));
+                dest.setDouble(6, Math.round(Math.min(10.0, rating) * 10) / 10.0);
+                dest.setString(7, list("Spot", 3 + random.nextInt(5)));
+                dest.setString(8, list("Local spot", 2 + random.nextInt(4)));
+                dest.setString(9, list("Shop", 2 + random.nextInt(4)));
+                destBatch.add();
+
+                for (int i = 0; i < config.imagesPerPlace; i++) {
+                    image.setInt(1, id);
+                    image.setString(2, writeImage(id, i));
+                    imageBatch.add();
+                }
+            }
+            destBatch.flush();
+            imageBatch.flush();
+        }
+    }
+
+    private void insertUsers(Connection conn) throws SQLException {
+        // Hashing is deliberately slow, so every user shares one hash of the same password
+        String hash = BCrypt.hashpw(PASSWORD, BCrypt.gensalt(10));
+        try (PreparedStatement user = conn.prepareStatement("INSERT INTO users(id, username, password_hash, role) VALUES(?,?,?,?)")) {
+            Batch batch = new Batch(conn, user);
+            for (int id = 1; id <= config.users; id++) {
+                user.setInt(1, id);
+                user.setString(2, "user" + id);
+                user.setString(3, hash);
+                user.setString(4, id == 1 ? "admin" : "user");
+                batch.add();
+            }
+            batch.flush();
+        }
+    }
+
+    private void insertSavedPlaces(Connection conn) throws SQLException {
+        if (config.destinations == 0) return;
+        try (PreparedStatement saved = conn.prepareStatement("INSERT OR IGNORE INTO saved_places(user_id, destination_id) VALUES(?,?)")) {
+            Batch batch = new Batch(conn, saved);
+            for (int userId = 1; userId <= config.users; userId++) {
+                for (int i = 0; i < config.savedPerUser; i++) {
+                    saved.setInt(1, userId);
+                    saved.setInt(2, 1 + popularity.next(random));
+                    batch.add();
+                }
+            }
+            batch.flush();
+        }
+    }
+
+    private void insertReviews(Connection conn) throws SQLException {
+        if (config.destinations == 0 || config.users == 0) return;
+        try (PreparedStatement review = conn.prepareStatement(
+                "INSERT INTO reviews(destination_id, user_id, username, rating, comment) VALUES(?,?,?,?,?)")) {
+            Batch batch = new Batch(conn, review);
+            for (int i = 0; i < config.reviews; i++) {
+                int userId = 1 + random.nextInt(config.users);
+                review.setInt(1, 1 + popularity.next(random));
+                review.setInt(2, userId);
+                review.setString(3, "user" + userId);
+                review.setInt(4, Math.min(5, 1 + (int) Math.abs(random.nextGaussian() * 1.2 + 3)));
+                review.setString(5, pick(COMMENTS));
+                batch.add();
+            }
+            batch.flush();
+        }
+    }
+
+    /**
+     * Writes a JPEG of the configured size and returns its absolute path, or a
+     * path that does not exist when no image directory is configured.
+     */
+    private String writeImage(int destinationId, int index) throws IOException {
+        String fileName = "synthetic_" + destinationId + "_" + index + ".jpg";
+        if (config.imageDir == null) {
+            return Paths.get("images", fileName).toAbsolutePath().toString();
+        }
+        Path file = config.imageDir.resolve(fileName).toAbsolutePath();
+        // Own generator per image, so writing images doesn't change the generated rows
+        Random pixels = new Random(config.seed * 31 + destinationId * 1_009L + index);
+        BufferedImage img = paintImage(pixels, config.imageWidth, config.imageHeight);
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.85f);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(img, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return file.toString();
+    }
+
+    /**
+     * A gradient "sky", a few hills and per-pixel noise: smooth enough to look like
+     * a photo, noisy enough to compress to a realistic JPEG size.
+     */
+    private static BufferedImage paintImage(Random random, int width, int height) {
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        Color top = new Color(random.nextInt(100), 100 + random.nextInt(100), 155 + random.nextInt(100));
+        g.setPaint(new GradientPaint(0, 0, top, 0, height, Color.WHITE));
+        g.fillRect(0, 0, width, height);
+        for (int i = 0; i < 4; i++) {
+            g.setColor(new Color(random.nextInt(120), 80 + random.nextInt(120), random.nextInt(80)));
+            int w = width / 2 + random.nextInt(width);
+            g.fillOval(random.nextInt(width) - w / 2, height / 2 + random.nextInt(height / 2), w, height);
+        }
+        g.dispose();
+
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            img.getRGB(0, y, width, 1, row, 0, width);
+            for (int x = 0; x < width; x++) {
+                int n = random.nextInt(25) - 12;
+                int r = clamp(((row[x] >> 16) & 0xff) + n);
+                int gr = clamp(((row[x] >> 8) & 0xff) + n);
+                int b = clamp((row[x] & 0xff) + n);
+                row[x] = (r << 16) | (gr << 8) | b;
+            }
+            img.setRGB(0, y, width, 1, row, 0, width);
+        }
+        return img;
+    }
+
+    private static int clamp(int v) {
+        return Math.max(0, Math.min(255, v));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private String paragraph(int sentences) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            sb.append("The ").append(pick(PREFIXES).toLowerCase()).append(' ')
+                    .append(pick(FEATURES).toLowerCase()).append(" of ").append(pick(REGIONS))
+                    .append(" draws visitors all year round. ");
+        }
+        return sb.toString().trim();
+    }
+
+    private String list(String label, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            if (i > 1) sb.append('\n');
+            sb.append(label).append(' ').append(i).append(" - ").append(pick(FEATURES));
+        }
+        return sb.toString();
+    }
+
+    /** Executes every BATCH_SIZE rows and commits every ROWS_PER_TRANSACTION rows. */
+    private static class Batch {
+        private final Connection conn;
+        private final PreparedStatement stmt;
+        private int pending = 0;
+        private int sinceCommit = 0;
+
+        Batch(Connection conn, PreparedStatement stmt) {
+            this.conn = conn;
+            this.stmt = stmt;
+        }
+
+        void add() throws SQLException {
+            stmt.addBatch();
+            if (++pending == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (pending == 0) return;
+            stmt.executeBatch();
+            sinceCommit += pending;
+            pending = 0;
+            if (sinceCommit >= ROWS_PER_TRANSACTION) {
+                conn.commit();
+                sinceCommit = 0;
+            }
+        }
+    }
+
+    /** Samples ranks 0..n-1 with probability proportional to 1 / (rank + 1)^skew. */
+    static class ZipfSampler {
+        private final double[] cumulative;
+
+        ZipfSampler(int n, double skew) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += 1.0 / Math.pow(i + 1, skew);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int next(Random random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            int rank = index >= 0 ? index : -index - 1;
+            return Math.min(rank, cumulative.length - 1);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Config config = new Config();
+        Path db = Paths.get("soak", "tourism.db");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--db": db = Paths.get(value); break;
+                case "--destinations": config.destinations(Integer.parseInt(value)); break;
+                case "--users": config.users(Integer.parseInt(value)); break;
+                case "--reviews": config.reviews(Integer.parseInt(value)); break;
+                case "--images-per-place": config.imagesPerPlace(Integer.parseInt(value)); break;
+                case "--saved-per-user": config.savedPerUser(Integer.parseInt(value)); break;
+                case "--skew": config.skew(Double.parseDouble(value)); break;
+                case "--seed": config.seed(Long.parseLong(value)); break;
+                case "--image-dir": config.imageDir(Paths.get(value)); break;
+                case "--image-size": {
+                    String[] size = value.toLowerCase().split("x");
+                    config.imageSize(Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+                    break;
+                }
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(1);
+            }
+        }
+        if (Files.exists(db)) {
+            System.err.println(db + " already exists; choose a new file so the generated ids start at 1.");
+            System.exit(1);
+        }
+
+        long start = System.currentTimeMillis();
+        new SyntheticDataGenerator(config).generate(db);
+        System.out.printf("Generated %s in %.1f s (%d destinations, %d users, %d reviews).%n",
+                db.toAbsolutePath(), (System.currentTimeMillis() - start) / 1000.0,
+                config.destinations, config.users, config.reviews);
+    }
+}
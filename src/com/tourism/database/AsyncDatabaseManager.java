@@ -0,0 +1,266 @@
+package com.tourism.database;
+
+import com.tourism.model.Destination;
+import com.tourism.model.DestinationSummary;
+import com.tourism.model.Review;
+import com.tourism.model.User;
+import com.tourism.search.DestinationFilter;
+import com.tourism.search.FacetResult;
+import com.tourism.search.Suggestion;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous facade over DatabaseManager for the GUI.
+ *
+ * Every operation runs off the Event Dispatch Thread and returns a CompletableFuture.
+ * Reads run on a dedicated executor (virtual threads when the JVM has them) and
+ * identical reads that are already in flight share one future, unless a write
+ * has completed since the shared read started. Writes run one at a
+ * time on their own thread, since SQLite allows a single writer.
+ * Use {@link #onEdt} to get results back on the EDT.
+ */
+public class AsyncDatabaseManager {
+
+    private static final int READ_THREADS = 4;
+
+    private final DatabaseManager dbManager;
+    private final ExecutorService readExecutor;
+    private final ExecutorService writeExecutor;
+    private final ConcurrentHashMap<String, CompletableFuture<?>> inFlightReads = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingReads = new AtomicInteger();
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+
+    public AsyncDatabaseManager(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+        this.readExecutor = createReadExecutor();
+        this.writeExecutor = Executors.newSingleThreadExecutor(daemonThreads("db-write"));
+        // Runs on the writing thread before any change reaches the EDT, so a reload
+        // made in response to the change does not join a read started before it
+        dbManager.addCatalogListener(change -> inFlightReads.clear());
+    }
+
+    /**
+     * The underlying synchronous manager, for code that already runs off the EDT.
+     */
+    public DatabaseManager getDatabaseManager() {
+        return dbManager;
+    }
+
+    /**
+     * @return reads queued or running, shared reads counted once
+     */
+    public int getPendingReads() {
+        return pendingReads.get();
+    }
+
+    /**
+     * @return writes queued or running on the write thread
+     */
+    public int getPendingWrites() {
+        return pendingWrites.get();
+    }
+
+    // --- Reads ---
+
+    public CompletableFuture<List<DestinationSummary>> getAllDestinations(String sortBy) {
+        return read("all:" + sortBy, () -> dbManager.getAllDestinations(sortBy));
+    }
+
+    public CompletableFuture<List<DestinationSummary>> searchDestinations(String query) {
+        return read("search:" + query, () -> dbManager.searchDestinations(query));
+    }
+
+    public CompletableFuture<FacetResult> filterDestinations(DestinationFilter filter, String sortBy) {
+        return read("filter:" + sortBy + ":" + filter, () -> dbManager.filterDestinations(filter, sortBy));
+    }
+
+    public CompletableFuture<List<Suggestion>> getSuggestions(String prefix, int limit) {
+        return read("suggest:" + limit + ":" + prefix, () -> dbManager.getSuggestions(prefix, limit));
+    }
+
+    public CompletableFuture<Destination> getDestinationById(int destinationId, int userId) {
+        return read("destination:" + destinationId + ":" + userId, () -> dbManager.getDestinationById(destinationId, userId));
+    }
+
+    public CompletableFuture<List<Review>> getReviewsForDestination(int destinationId) {
+        return read("reviews:" + destinationId, () -> dbManager.getReviewsForDestination(destinationId));
+    }
+
+    public CompletableFuture<List<DestinationSummary>> getSavedDestinations(int userId) {
+        return read("saved:" + userId, () -> dbManager.getSavedDestinations(userId));
+    }
+
+    public CompletableFuture<Integer> countSavedDestinations(int userId) {
+        return read("savedCount:" + userId, () -> dbManager.countSavedDestinations(userId));
+    }
+
+    public CompletableFuture<List<DestinationSummary>> getSavedDestinationsPage(int userId, String sortBy,
+                                                                              boolean ascending, int offset, int limit) {
+        return read("savedPage:" + userId + ":" + sortBy + ":" + ascending + ":" + offset + ":" + limit,
+                () -> dbManager.getSavedDestinationsPage(userId, sortBy, ascending, offset, limit));
+    }
+
+    public CompletableFuture<User> getUser(String username) {
+        return read("user:" + username, () -> dbManager.getUser(username));
+    }
+
+    /**
+     * Registers a listener for every committed write; it is called on the EDT,
+     * in the order the writes were made.
+     */
+    public void addCatalogListener(CatalogListener listener) {
+        dbManager.addCatalogListener(change -> SwingUtilities.invokeLater(() -> listener.catalogChanged(change)));
+    }
+
+    // --- Writes ---
+
+    public CompletableFuture<Integer> addDestination(Destination dest) {
+        return write(() -> dbManager.addDestination(dest));
+    }
+
+    public CompletableFuture<Void> updateDestination(Destination dest) {
+        return write(() -> { dbManager.updateDestination(dest); return null; });
+    }
+
+    public CompletableFuture<Void> deleteDestination(int destinationId) {
+        return write(() -> { dbManager.deleteDestination(destinationId); return null; });
+    }
+
+    public CompletableFuture<Void> addImageForDestination(int destinationId, String imagePath) {
+        return write(() -> { dbManager.addImageForDestination(destinationId, imagePath); return null; });
+    }
+
+    public CompletableFuture<Void> deleteImageByPath(String imagePath) {
+        return write(() -> { dbManager.deleteImageByPath(imagePath); return null; });
+    }
+
+    public CompletableFuture<Void> saveDestination(int userId, int destinationId) {
+        return write(() -> { dbManager.saveDestination(userId, destinationId); return null; });
+    }
+
+    public CompletableFuture<Void> unsaveDestination(int userId, int destinationId) {
+        return write(() -> { dbManager.unsaveDestination(userId, destinationId); return null; });
+    }
+
+    public CompletableFuture<Void> createUser(String username, String passwordHash, String role) {
+        return write(() -> { dbManager.createUser(username, passwordHash, role); return null; });
+    }
+
+    public CompletableFuture<Void> addReview(Review review) {
+        return write(() -> { dbManager.addReview(review); return null; });
+    }
+
+    /**
+     * Runs arbitrary blocking work (file copies, several writes in a row) on the write thread,
+     * so it is ordered with every other write.
+     */
+    public <T> CompletableFuture<T> write(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        pendingWrites.incrementAndGet();
+        writeExecutor.execute(() -> {
+            try {
+                T result = task.call();
+                inFlightReads.clear(); // Reads asked for after this write must see it
+                future.complete(result);
+            } catch (Throwable t) {
+                inFlightReads.clear(); // It may have written part of its work
+                future.completeExceptionally(t);
+            } finally {
+                pendingWrites.decrementAndGet();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Runs arbitrary blocking read-side work (e.g. several queries in a row) off the EDT.
+     * Unlike the named reads it is never shared with other callers.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        pendingReads.incrementAndGet();
+        readExecutor.execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                pendingReads.decrementAndGet();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Runs a read off the EDT. A read with the same key that is still running is
+     * shared; writes forget the running reads, so later callers start a new one.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> read(String key, Callable<T> task) {
+        CompletableFuture<T> created = new CompletableFuture<>();
+        CompletableFuture<?> existing = inFlightReads.putIfAbsent(key, created);
+        if (existing != null) {
+            return (CompletableFuture<T>) existing;
+        }
+        pendingReads.incrementAndGet();
+        readExecutor.execute(() -> {
+            try {
+                T result = task.call();
+                inFlightReads.remove(key, created);
+                created.complete(result);
+            } catch (Throwable t) {
+                inFlightReads.remove(key, created);
+                created.completeExceptionally(t);
+            } finally {
+                pendingReads.decrementAndGet();
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Delivers the outcome of a future on the Event Dispatch Thread.
+     * @param onSuccess receives the result
+     * @param onError   receives the underlying exception (unwrapped from CompletionException)
+     */
+    public static <T> void onEdt(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            if (error == null) {
+                onSuccess.accept(result);
+            } else {
+                Throwable cause = (error instanceof CompletionException && error.getCause() != null)
+                        ? error.getCause() : error;
+                onError.accept(cause);
+            }
+        }));
+    }
+
+    private static ExecutorService createReadExecutor() {
+        // Virtual threads (Java 21+) are looked up reflectively so the app still runs on Java 11
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(READ_THREADS, daemonThreads("db-read"));
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
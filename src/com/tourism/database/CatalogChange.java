@@ -0,0 +1,133 @@
+package com.tourism.database;
+
+import com.tourism.model.Destination;
+import com.tourism.model.DestinationSummary;
+import com.tourism.model.Review;
+
+/**
+ * One committed write, published by DatabaseManager to its CatalogListeners.
+ *
+ * Carries what a view needs to update itself without querying: the fresh
+ * summary of the destination (null once deleted), the full record as written
+ * for edits, the image path, the new review or the saved flag.
+ * The catalog versions before and after the write let a view check that it
+ * was up to date before applying the change in place. Immutable.
+ */
+public final class CatalogChange {
+
+    public enum Kind {
+        DESTINATION_ADDED,
+        DESTINATION_UPDATED,
+        DESTINATION_DELETED,
+        IMAGE_ADDED,
+        IMAGE_REMOVED,
+        REVIEW_ADDED,
+        SAVED_CHANGED
+    }
+
+    private final Kind kind;
+    private final int destinationId;
+    private final long previousVersion;
+    private final long catalogVersion;
+    private final DestinationSummary summary;
+    private final Destination destination;
+    private final String imagePath;
+    private final Review review;
+    private final int userId;
+    private final boolean saved;
+
+    private CatalogChange(Kind kind, int destinationId, long previousVersion, long catalogVersion,
+                          DestinationSummary summary, Destination destination, String imagePath,
+                          Review review, int userId, boolean saved) {
+        this.kind = kind;
+        this.destinationId = destinationId;
+        this.previousVersion = previousVersion;
+        this.catalogVersion = catalogVersion;
+        this.summary = summary;
+        this.destination = destination;
+        this.imagePath = imagePath;
+        this.review = review;
+        this.userId = userId;
+        this.saved = saved;
+    }
+
+    static CatalogChange destinationAdded(long previousVersion, long catalogVersion, DestinationSummary summary) {
+        return new CatalogChange(Kind.DESTINATION_ADDED, summary.getId(), previousVersion, catalogVersion,
+                summary, null, null, null, -1, false);
+    }
+
+    static CatalogChange destinationUpdated(long previousVersion, long catalogVersion,
+                                            DestinationSummary summary, Destination destination) {
+        return new CatalogChange(Kind.DESTINATION_UPDATED, destination.getId(), previousVersion, catalogVersion,
+                summary, destination, null, null, -1, false);
+    }
+
+    static CatalogChange destinationDeleted(long previousVersion, long catalogVersion, int destinationId) {
+        return new CatalogChange(Kind.DESTINATION_DELETED, destinationId, previousVersion, catalogVersion,
+                null, null, null, null, -1, false);
+    }
+
+    static CatalogChange imageChanged(Kind kind, long previousVersion, long catalogVersion,
+                                      DestinationSummary summary, int destinationId, String imagePath) {
+        return new CatalogChange(kind, destinationId, previousVersion, catalogVersion,
+                summary, null, imagePath, null, -1, false);
+    }
+
+    static CatalogChange reviewAdded(long catalogVersion, Review review) {
+        return new CatalogChange(Kind.REVIEW_ADDED, review.getDestinationId(), catalogVersion, catalogVersion,
+                null, null, null, review, review.getUserId(), false);
+    }
+
+    static CatalogChange savedChanged(long catalogVersion, int userId, int destinationId, boolean saved) {
+        return new CatalogChange(Kind.SAVED_CHANGED, destinationId, catalogVersion, catalogVersion,
+                null, null, null, null, userId, saved);
+    }
+
+    public Kind getKind() { return kind; }
+    public int getDestinationId() { return destinationId; }
+
+    /**
+     * @return the catalog version just before this write
+     */
+    public long getPreviousVersion() { return previousVersion; }
+
+    /**
+     * @return the catalog version just after this write
+     */
+    public long getCatalogVersion() { return catalogVersion; }
+
+    /**
+     * @return the destination's summary after the write, or null if it no longer exists
+     */
+    public DestinationSummary getSummary() { return summary; }
+
+    /**
+     * @return the full record as written, for DESTINATION_UPDATED; otherwise null
+     */
+    public Destination getDestination() { return destination; }
+
+    /**
+     * @return the image added or removed, for IMAGE_ADDED and IMAGE_REMOVED; otherwise null
+     */
+    public String getImagePath() { return imagePath; }
+
+    /**
+     * @return the new review with its id, for REVIEW_ADDED; otherwise null
+     */
+    public Review getReview() { return review; }
+
+    /**
+     * @return the user who saved, unsaved or reviewed, or -1
+     */
+    public int getUserId() { return userId; }
+
+    /**
+     * @return for SAVED_CHANGED, whether the destination is now saved
+     */
+    public boolean isSaved() { return saved; }
+
+    @Override
+    public String toString() {
+        return kind + " #" + destinationId + " (catalog v" + previousVersion + " -> v" + catalogVersion + ")";
+    }
+}
@@ -0,0 +1,12 @@
+package com.tourism.database;
+
+/**
+ * Receives every write committed through DatabaseManager.
+ * @see DatabaseManager#addCatalogListener
+ * @see AsyncDatabaseManager#addCatalogListener
+ */
+@FunctionalInterface
+public interface CatalogListener {
+
+    void catalogChanged(CatalogChange change);
+}
@@ -1,12 +1,25 @@
 package com.tourism.database;
 
 import com.tourism.model.Destination;
+import com.tourism.model.DestinationSummary;
 import com.tourism.model.Review;
+import com.tourism.model.SavedPlaces;
 import com.tourism.model.User;
+import com.tourism.search.DestinationFilter;
+import com.tourism.search.FacetResult;
+import com.tourism.search.Suggestion;
 
 import java.sql.*;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.io.File;
 
 /**
@@ -14,14 +27,70 @@ import java.io.File;
  * MODIFIED:
  * - Price sort now correctly casts the text price to a number.
  * - Search now sorts alphabetically by name.
+ * - Listings and search are served from an in-memory DestinationCatalog;
+ *   every write invalidates the destinations it touched.
+ * - Saved flags come from the logged-in user's in-memory SavedPlaces set
+ *   instead of one saved_places query per destination.
+ * - Listings return DestinationSummary rows read with a narrow projection;
+ *   the full Destination is only loaded by getDestinationById.
+ * - The database file can be passed to the constructor (benchmarks use seeded copies).
+ * - Every statement runs through queryList/queryFirst/update/insert, which time it
+ *   and report it by name to the QueryMonitor (see getQueryMonitor).
+ * - Each statement is also a com.tourism.DatabaseQuery JFR event.
+ * - getSuggestions serves search-box autocomplete from the catalog's prefix index.
+ * - searchDestinations falls back to a typo-tolerant trigram search when nothing
+ *   contains the query.
+ * - filterDestinations serves the dashboard's price/rating/location filters
+ *   and their facet counts from the catalog.
+ * - The saved places table reads one sorted page at a time
+ *   (countSavedDestinations / getSavedDestinationsPage), without images.
+ * - Every successful write is published as a CatalogChange to the registered
+ *   CatalogListeners, on the writing thread, so views can update in place.
+ * - addDestination returns the new id, so images can be uploaded after the row is committed.
+ * - Deleting a destination or image queues its unused files in pending_file_deletions
+ *   (by trigger, in the same statement), for FileCleanupQueue to remove from disk.
+ * - IMAGE_DIR is where uploaded images are stored.
  */
 public class DatabaseManager {
 
     private static final String DB_FILE_PATH = System.getProperty("user.dir") + File.separator + "tourism.db";
-    private static final String DB_URL = "jdbc:sqlite:" + DB_FILE_PATH;
+    public static final String IMAGE_DIR = System.getProperty("user.dir") + File.separator + "images";
+
+    private final String dbUrl;
+
+    // Shorter queries match too many words by chance
+    private static final int MIN_FUZZY_QUERY_LENGTH = 3;
+    private static final int MAX_FUZZY_RESULTS = 50;
+
+    // Columns needed by listings. The price is cast the same way the old
+    // price sort did, and only the first image is selected.
+    private static final String SUMMARY_COLUMNS = "d.id, d.name, d.location, d.price, "
+            + "CAST(REPLACE(REPLACE(d.price, '$', ''), ',', '') AS REAL) AS price_value, d.popularity, "
+            + "(SELECT i.image_path FROM destination_images i WHERE i.destination_id = d.id "
+            + "ORDER BY i.id LIMIT 1) AS primary_image";
+
+    // The saved places table shows text columns only, so it skips the image subquery
+    private static final String SAVED_ROW_COLUMNS = "d.id, d.name, d.location, d.price, "
+            + "CAST(REPLACE(REPLACE(d.price, '$', ''), ',', '') AS REAL) AS price_value, d.popularity, "
+            + "NULL AS primary_image";
+
+    private final DestinationCatalog catalog = new DestinationCatalog(this);
+    private final QueryMonitor queryMonitor = new QueryMonitor();
+    // Saved sets of the users currently logged in, kept in sync by save/unsaveDestination
+    private final Map<Integer, SavedPlaces> savedPlacesByUser = new ConcurrentHashMap<>();
+    private final List<CatalogListener> catalogListeners = new CopyOnWriteArrayList<>();
 
     public DatabaseManager() {
-        System.out.println("DatabaseManager connecting to: " + DB_URL);
+        this(DB_FILE_PATH);
+    }
+
+    /**
+     * Opens (and creates if needed) the database at the given file, e.g. a seeded
+     * temporary database for benchmarks.
+     */
+    public DatabaseManager(String dbFilePath) {
+        this.dbUrl = "jdbc:sqlite:" + dbFilePath;
+        System.out.println("DatabaseManager connecting to: " + dbUrl);
         initializeDatabase();
     }
 
@@ -71,44 +140,229 @@ public class DatabaseManager {
                 + "FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE"
                 + ");";
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             Statement stmt = conn.createStatement()) {
-            stmt.execute(createDestinationsTableSql);
-            stmt.execute(createImagesTableSql);
-            stmt.execute(createUsersTableSql);
-            stmt.execute(createSavedPlacesTableSql);
-            stmt.execute(createReviewsTableSql);
+        // Listings look up each destination's first image
+        String createImagesIndexSql = "CREATE INDEX IF NOT EXISTS idx_destination_images_destination "
+                + "ON destination_images (destination_id);";
+
+        // Deletes and the file cleanup look images up by path
+        String createImagePathIndexSql = "CREATE INDEX IF NOT EXISTS idx_destination_images_path "
+                + "ON destination_images (image_path);";
+
+        // Image files whose rows are gone, removed in the background by FileCleanupQueue
+        String createPendingFileDeletionsTableSql = "CREATE TABLE IF NOT EXISTS pending_file_deletions ( "
+                + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "path TEXT NOT NULL UNIQUE, "
+                + "queued_at INTEGER NOT NULL, "
+                + "attempts INTEGER NOT NULL DEFAULT 0"
+                + ");";
+
+        // Foreign keys are not enforced on our connections, so a destination's image rows
+        // are removed by a trigger, in the same statement as the destination
+        String createDeleteDestinationImagesTriggerSql = "CREATE TRIGGER IF NOT EXISTS delete_destination_images "
+                + "AFTER DELETE ON destinations "
+                + "BEGIN DELETE FROM destination_images WHERE destination_id = OLD.id; END;";
+
+        // Queues a file once no image row refers to it; commits or rolls back with the delete
+        String createQueueImageFileTriggerSql = "CREATE TRIGGER IF NOT EXISTS queue_image_file_deletion "
+                + "AFTER DELETE ON destination_images "
+                + "WHEN NOT EXISTS (SELECT 1 FROM destination_images WHERE image_path = OLD.image_path) "
+                + "BEGIN INSERT OR IGNORE INTO pending_file_deletions(path, queued_at) "
+                + "VALUES (OLD.image_path, strftime('%s', 'now')); END;";
+
+        try {
+            update("createDestinationsTable", createDestinationsTableSql);
+            update("createImagesTable", createImagesTableSql);
+            update("createUsersTable", createUsersTableSql);
+            update("createSavedPlacesTable", createSavedPlacesTableSql);
+            update("createReviewsTable", createReviewsTableSql);
+            update("createImagesIndex", createImagesIndexSql);
+            update("createImagePathIndex", createImagePathIndexSql);
+            update("createPendingFileDeletionsTable", createPendingFileDeletionsTableSql);
+            update("createDeleteDestinationImagesTrigger", createDeleteDestinationImagesTriggerSql);
+            update("createQueueImageFileTrigger", createQueueImageFileTriggerSql);
         } catch (SQLException e) {
             System.err.println("Error initializing database: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
-    public void addDestination(Destination dest) throws SQLException {
-        String sql = "INSERT INTO destinations(name, location, description, price, popularity, tourist_spots, local_spots, shops) "
-                + "VALUES(?,?,?,?,?,?,?,?)";
+    // --- Instrumented statement execution ---
+    // Every statement runs through one of these helpers, which time it and
+    // report it to the QueryMonitor under the given name.
+
+    /** Maps the current row of a ResultSet to an object. */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Returns the statistics of every statement run by this manager.
+     */
+    public QueryMonitor getQueryMonitor() {
+        return queryMonitor;
+    }
+
+    private PreparedStatement prepare(Connection conn, String sql, int keys, Object[] params) throws SQLException {
+        PreparedStatement pstmt = conn.prepareStatement(sql, keys);
+        for (int i = 0; i < params.length; i++) {
+            pstmt.setObject(i + 1, params[i]);
+        }
+        return pstmt;
+    }
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, dest.getName());
-            pstmt.setString(2, dest.getLocation());
-            pstmt.setString(3, dest.getDescription());
-            pstmt.setString(4, dest.getPrice());
-            pstmt.setDouble(5, dest.getPopularity());
-            pstmt.setString(6, dest.getTouristSpots());
-            pstmt.setString(7, dest.getLocalSpots());
-            pstmt.setString(8, dest.getShops());
-            pstmt.executeUpdate();
+    private <T> List<T> queryList(String name, String sql, RowMapper<T> mapper, Object... params) throws SQLException {
+        QueryMonitor.Execution execution = queryMonitor.begin();
+        List<T> rows = new ArrayList<>();
+        Exception error = null;
+        try (Connection conn = DriverManager.getConnection(dbUrl);
+             PreparedStatement pstmt = prepare(conn, sql, Statement.NO_GENERATED_KEYS, params);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                rows.add(mapper.map(rs));
+            }
+        } catch (SQLException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            // Also after a failing row mapper, or the statement would stay counted as open
+            queryMonitor.record(name, sql, params, execution, rows.size(), error);
+        }
+        return rows;
+    }
 
+    /**
+     * @return the first row, or null if there is none
+     */
+    private <T> T queryFirst(String name, String sql, RowMapper<T> mapper, Object... params) throws SQLException {
+        QueryMonitor.Execution execution = queryMonitor.begin();
+        T row = null;
+        Exception error = null;
+        try (Connection conn = DriverManager.getConnection(dbUrl);
+             PreparedStatement pstmt = prepare(conn, sql, Statement.NO_GENERATED_KEYS, params);
+             ResultSet rs = pstmt.executeQuery()) {
+            if (rs.next()) {
+                row = mapper.map(rs);
+            }
+        } catch (SQLException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            queryMonitor.record(name, sql, params, execution, row != null ? 1 : 0, error);
+        }
+        return row;
+    }
+
+    /**
+     * @return the number of rows changed
+     */
+    private int update(String name, String sql, Object... params) throws SQLException {
+        QueryMonitor.Execution execution = queryMonitor.begin();
+        int changed = 0;
+        Exception error = null;
+        try (Connection conn = DriverManager.getConnection(dbUrl);
+             PreparedStatement pstmt = prepare(conn, sql, Statement.NO_GENERATED_KEYS, params)) {
+            changed = pstmt.executeUpdate();
+        } catch (SQLException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            queryMonitor.record(name, sql, params, execution, changed, error);
+        }
+        return changed;
+    }
+
+    /**
+     * @return the generated key of the inserted row, or -1 if there is none
+     */
+    private int insert(String name, String sql, Object... params) throws SQLException {
+        QueryMonitor.Execution execution = queryMonitor.begin();
+        int changed = 0;
+        int key = -1;
+        Exception error = null;
+        try (Connection conn = DriverManager.getConnection(dbUrl);
+             PreparedStatement pstmt = prepare(conn, sql, Statement.RETURN_GENERATED_KEYS, params)) {
+            changed = pstmt.executeUpdate();
             try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
-                    int destinationId = generatedKeys.getInt(1);
-                    for (String imgPath : dest.getImagePaths()) {
-                        addImageForDestination(destinationId, imgPath);
-                    }
+                    key = generatedKeys.getInt(1);
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            queryMonitor.record(name, sql, params, execution, changed, error);
+        }
+        return key;
+    }
+
+    // --- Change events ---
+
+    /**
+     * Registers a listener for every write made through this manager. Listeners
+     * run on the thread that made the write, after it succeeded.
+     */
+    public void addCatalogListener(CatalogListener listener) {
+        catalogListeners.add(listener);
+    }
+
+    public void removeCatalogListener(CatalogListener listener) {
+        catalogListeners.remove(listener);
+    }
+
+    private boolean hasCatalogListeners() {
+        return !catalogListeners.isEmpty();
+    }
+
+    private void publish(CatalogChange change) {
+        for (CatalogListener listener : catalogListeners) {
+            try {
+                listener.catalogChanged(change);
+            } catch (RuntimeException e) {
+                System.err.println("Catalog listener failed on " + change + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return the destination's summary for a change event, or null if it is gone or could not be read
+     */
+    private DestinationSummary changedSummary(int destinationId) {
+        try {
+            return catalog.get(destinationId);
+        } catch (SQLException e) {
+            System.err.println("Error reading changed destination: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // --- Destinations ---
+
+    /**
+     * @return the id of the new destination, or -1 if none was generated
+     */
+    public int addDestination(Destination dest) throws SQLException {
+        String sql = "INSERT INTO destinations(name, location, description, price, popularity, tourist_spots, local_spots, shops) "
+                + "VALUES(?,?,?,?,?,?,?,?)";
+
+        int destinationId = insert("addDestination", sql,
+                dest.getName(), dest.getLocation(), dest.getDescription(), dest.getPrice(),
+                dest.getPopularity(), dest.getTouristSpots(), dest.getLocalSpots(), dest.getShops());
+        if (destinationId != -1) {
+            long previousVersion = catalog.getVersion();
+            for (String imgPath : dest.getImagePaths()) {
+                insertImage(destinationId, imgPath);
+            }
+            catalog.invalidate(destinationId);
+            if (hasCatalogListeners()) {
+                DestinationSummary summary = changedSummary(destinationId);
+                if (summary != null) {
+                    publish(CatalogChange.destinationAdded(previousVersion, catalog.getVersion(), summary));
                 }
             }
         }
+        return destinationId;
     }
 
     public void updateDestination(Destination dest) throws SQLException {
@@ -117,78 +371,92 @@ public class DatabaseManager {
                 + "tourist_spots = ?, local_spots = ?, shops = ? "
                 + "WHERE id = ?";
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, dest.getName());
-            pstmt.setString(2, dest.getLocation());
-            pstmt.setString(3, dest.getDescription());
-            pstmt.setString(4, dest.getPrice());
-            pstmt.setDouble(5, dest.getPopularity());
-            pstmt.setString(6, dest.getTouristSpots());
-            pstmt.setString(7, dest.getLocalSpots());
-            pstmt.setString(8, dest.getShops());
-            pstmt.setInt(9, dest.getId());
-            pstmt.executeUpdate();
+        update("updateDestination", sql,
+                dest.getName(), dest.getLocation(), dest.getDescription(), dest.getPrice(),
+                dest.getPopularity(), dest.getTouristSpots(), dest.getLocalSpots(), dest.getShops(),
+                dest.getId());
+        long previousVersion = catalog.getVersion();
+        catalog.invalidate(dest.getId());
+        if (hasCatalogListeners()) {
+            publish(CatalogChange.destinationUpdated(previousVersion, catalog.getVersion(),
+                    changedSummary(dest.getId()), dest));
         }
     }
 
     public void deleteDestination(int destinationId) throws SQLException {
         String sql = "DELETE FROM destinations WHERE id = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, destinationId);
-            pstmt.executeUpdate();
+        update("deleteDestination", sql, destinationId);
+        long previousVersion = catalog.getVersion();
+        catalog.invalidate(destinationId);
+        if (hasCatalogListeners()) {
+            publish(CatalogChange.destinationDeleted(previousVersion, catalog.getVersion(), destinationId));
         }
     }
 
+    /**
+     * Returns a counter that changes whenever the destination catalog changes.
+     */
+    public long getCatalogVersion() {
+        return catalog.getVersion();
+    }
+
+    /**
+     * Drops the cached catalog so the next listing is read from the database again.
+     */
+    public void invalidateCatalog() {
+        catalog.invalidateAll();
+    }
+
 
     /**
      * MODIFICATION: Fixed price sorting.
      * Extracts the first number from the price string (e.g., "$1,000" or "100 - 200")
      * and casts it as a number for correct sorting.
+     * MODIFICATION: Served from the in-memory catalog; the pre-sorted views
+     * mirror the ORDER BY clauses that used to be sent to SQLite.
      */
-    public List<Destination> getAllDestinations(int userId, String sortBy) {
-        List<Destination> destinations = new ArrayList<>();
-        String sql = "SELECT * FROM destinations";
-
-        if ("popularity".equals(sortBy)) {
-            sql += " ORDER BY popularity DESC";
-        } else if ("price".equals(sortBy)) {
-            // --- FIX: Cast the cleaned price string to a number ---
-            sql += " ORDER BY CAST(REPLACE(REPLACE(price, '$', ''), ',', '') AS REAL) ASC";
-            // --- End of Fix ---
+    public List<DestinationSummary> getAllDestinations(String sortBy) {
+        try {
+            return catalog.getSorted(sortBy);
+        } catch (SQLException e) {
+            System.err.println("Error getting all destinations: " + e.getMessage());
+            return new ArrayList<>();
         }
+    }
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                destinations.add(createDestinationFromResultSet(rs, userId));
-            }
+    /**
+     * Destinations matching the filter in the given order, with facet counts.
+     * @param sortBy as for getAllDestinations
+     */
+    public FacetResult filterDestinations(DestinationFilter filter, String sortBy) {
+        try {
+            return catalog.filter(filter, sortBy);
         } catch (SQLException e) {
-            System.err.println("Error getting all destinations: " + e.getMessage());
+            System.err.println("Error filtering destinations: " + e.getMessage());
+            return null;
         }
-        return destinations;
     }
 
     public Destination getDestinationById(int destinationId, int userId) {
         String sql = "SELECT * FROM destinations WHERE id = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, destinationId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return createDestinationFromResultSet(rs, userId);
-                }
+        try {
+            Destination dest = queryFirst("getDestinationById", sql, this::createDestinationFromResultSet, destinationId);
+            if (dest != null) {
+                // Loaded after the row so each query is timed on its own
+                dest.getImagePaths().addAll(getImagesForDestination(destinationId));
+                dest.setSaved(isDestinationSaved(destinationId, userId));
             }
+            return dest;
         } catch (SQLException e) {
             System.err.println("Error getting destination by ID: " + e.getMessage());
         }
         return null;
     }
 
-    private Destination createDestinationFromResultSet(ResultSet rs, int userId) throws SQLException {
+    /**
+     * Reads the destination row; images and the saved flag are filled in by the caller.
+     */
+    private Destination createDestinationFromResultSet(ResultSet rs) throws SQLException {
         int id = rs.getInt("id");
         String name = rs.getString("name");
         String location = rs.getString("location");
@@ -199,62 +467,194 @@ public class DatabaseManager {
         String localSpots = rs.getString("local_spots");
         String shops = rs.getString("shops");
 
-        List<String> imagePaths = getImagesForDestination(id);
-        boolean isSaved = isDestinationSaved(id, userId);
-
         return new Destination(
-                id, name, location, description, imagePaths,
-                price, popularity, isSaved,
+                id, name, location, description, new ArrayList<>(),
+                price, popularity, false,
                 touristSpots, localSpots, shops
         );
     }
 
+    private DestinationSummary readSummaryRow(ResultSet rs) throws SQLException {
+        return new DestinationSummary(
+                rs.getInt("id"),
+                rs.getString("name"),
+                rs.getString("location"),
+                rs.getString("price"),
+                rs.getDouble("price_value"),
+                rs.getDouble("popularity"),
+                rs.getString("primary_image")
+        );
+    }
+
+    /**
+     * Loads the summary of every destination in one query, for the catalog.
+     */
+    List<DestinationSummary> fetchAllSummaries() throws SQLException {
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM destinations d ORDER BY d.id";
+        return queryList("fetchAllSummaries", sql, this::readSummaryRow);
+    }
+
+    /**
+     * Loads a single destination summary for the catalog, or null if it no longer exists.
+     */
+    DestinationSummary fetchSummary(int destinationId) throws SQLException {
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM destinations d WHERE d.id = ?";
+        return queryFirst("fetchSummary", sql, this::readSummaryRow, destinationId);
+    }
+
+    private static final String SPOT_COLUMNS = "d.id, "
+            + "COALESCE(d.tourist_spots, '') || ' ' || COALESCE(d.local_spots, '') || ' ' || COALESCE(d.shops, '') AS spots";
+
+    /**
+     * Loads the tourist spots, local spots and shops of every destination as one
+     * string each, for the catalog's fuzzy search index.
+     */
+    Map<Integer, String> fetchAllSpotTexts() throws SQLException {
+        String sql = "SELECT " + SPOT_COLUMNS + " FROM destinations d";
+        Map<Integer, String> texts = new HashMap<>();
+        for (Map.Entry<Integer, String> row : queryList("fetchAllSpotTexts", sql,
+                rs -> new AbstractMap.SimpleImmutableEntry<>(rs.getInt("id"), rs.getString("spots")))) {
+            texts.put(row.getKey(), row.getValue());
+        }
+        return texts;
+    }
+
+    /**
+     * Loads the spot text of one destination, or null if it no longer exists.
+     */
+    String fetchSpotText(int destinationId) throws SQLException {
+        String sql = "SELECT " + SPOT_COLUMNS + " FROM destinations d WHERE d.id = ?";
+        return queryFirst("fetchSpotText", sql, rs -> rs.getString("spots"), destinationId);
+    }
+
+    // --- Images ---
+
     public List<String> getImagesForDestination(int destinationId) {
-        List<String> paths = new ArrayList<>();
         String sql = "SELECT image_path FROM destination_images WHERE destination_id = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, destinationId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    paths.add(rs.getString("image_path"));
-                }
-            }
+        try {
+            return queryList("getImagesForDestination", sql, rs -> rs.getString("image_path"), destinationId);
         } catch (SQLException e) {
             System.err.println("Error getting images: " + e.getMessage());
+            return new ArrayList<>();
         }
-        return paths;
     }
 
     public void addImageForDestination(int destinationId, String imagePath) throws SQLException {
-        String sql = "INSERT INTO destination_images(destination_id, image_path) VALUES(?,?)";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, destinationId);
-            pstmt.setString(2, imagePath);
-            pstmt.executeUpdate();
+        insertImage(destinationId, imagePath);
+        long previousVersion = catalog.getVersion();
+        catalog.invalidate(destinationId);
+        if (hasCatalogListeners()) {
+            publish(CatalogChange.imageChanged(CatalogChange.Kind.IMAGE_ADDED, previousVersion, catalog.getVersion(),
+                    changedSummary(destinationId), destinationId, imagePath));
         }
     }
 
+    private void insertImage(int destinationId, String imagePath) throws SQLException {
+        String sql = "INSERT INTO destination_images(destination_id, image_path) VALUES(?,?)";
+        update("addImageForDestination", sql, destinationId, imagePath);
+    }
+
     public void deleteImageByPath(String imagePath) throws SQLException {
+        String findSql = "SELECT DISTINCT destination_id FROM destination_images WHERE image_path = ?";
         String sql = "DELETE FROM destination_images WHERE image_path = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, imagePath);
-            pstmt.executeUpdate();
+        List<Integer> affectedIds = queryList("findImageOwners", findSql, rs -> rs.getInt(1), imagePath);
+        update("deleteImageByPath", sql, imagePath);
+        for (int id : affectedIds) {
+            long previousVersion = catalog.getVersion();
+            catalog.invalidate(id);
+            if (hasCatalogListeners()) {
+                publish(CatalogChange.imageChanged(CatalogChange.Kind.IMAGE_REMOVED, previousVersion, catalog.getVersion(),
+                        changedSummary(id), id, imagePath));
+            }
+        }
+    }
+
+    // --- Pending file deletions ---
+    // Filled by the queue_image_file_deletion trigger, drained by FileCleanupQueue
+
+    /**
+     * Returns the oldest queued file deletions. Paths an image row refers to again
+     * are dropped from the queue first, so a file still in use is never returned.
+     * @return queue id to path, oldest first
+     */
+    public Map<Integer, String> getPendingFileDeletions(int limit) throws SQLException {
+        update("forgetReferencedFileDeletions",
+                "DELETE FROM pending_file_deletions WHERE path IN (SELECT image_path FROM destination_images)");
+        String sql = "SELECT id, path FROM pending_file_deletions ORDER BY id LIMIT ?";
+        Map<Integer, String> pending = new LinkedHashMap<>();
+        for (Map.Entry<Integer, String> row : queryList("getPendingFileDeletions", sql,
+                rs -> new AbstractMap.SimpleImmutableEntry<>(rs.getInt("id"), rs.getString("path")), limit)) {
+            pending.put(row.getKey(), row.getValue());
+        }
+        return pending;
+    }
+
+    /**
+     * Removes deletions that are done (or not needed) from the queue.
+     */
+    public void completeFileDeletions(Collection<Integer> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        update("completeFileDeletions",
+                "DELETE FROM pending_file_deletions WHERE id IN (" + placeholders(ids.size()) + ")", ids.toArray());
+    }
+
+    /**
+     * Counts a failed attempt for each deletion and gives up on those that have failed maxAttempts times.
+     * @return the number of deletions given up
+     */
+    public int retryFileDeletions(Collection<Integer> ids, int maxAttempts) throws SQLException {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        update("retryFileDeletions", "UPDATE pending_file_deletions SET attempts = attempts + 1 WHERE id IN ("
+                + placeholders(ids.size()) + ")", ids.toArray());
+        return update("abandonFileDeletions", "DELETE FROM pending_file_deletions WHERE attempts >= ?", maxAttempts);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    // --- Saved places ---
+
+    /**
+     * Loads a user's saved destination ids in one query and keeps the set in memory.
+     * While it is loaded, isDestinationSaved never touches the database for this user
+     * and saveDestination/unsaveDestination update it in place.
+     */
+    public SavedPlaces loadSavedPlaces(int userId) {
+        SavedPlaces savedPlaces = new SavedPlaces();
+        String sql = "SELECT destination_id FROM saved_places WHERE user_id = ?";
+        try {
+            for (int destinationId : queryList("loadSavedPlaces", sql, rs -> rs.getInt(1), userId)) {
+                savedPlaces.add(destinationId);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error loading saved places: " + e.getMessage());
+            return savedPlaces;
         }
+        savedPlacesByUser.put(userId, savedPlaces);
+        return savedPlaces;
+    }
+
+    /**
+     * Forgets the in-memory saved set of a user who logged out.
+     */
+    public void releaseSavedPlaces(int userId) {
+        savedPlacesByUser.remove(userId);
     }
 
     public boolean isDestinationSaved(int destinationId, int userId) {
         if (userId == -1) return false;
+        SavedPlaces savedPlaces = savedPlacesByUser.get(userId);
+        if (savedPlaces != null) {
+            return savedPlaces.contains(destinationId);
+        }
         String sql = "SELECT 1 FROM saved_places WHERE user_id = ? AND destination_id = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, userId);
-            pstmt.setInt(2, destinationId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                return rs.next();
-            }
+        try {
+            return queryFirst("isDestinationSaved", sql, rs -> Boolean.TRUE, userId, destinationId) != null;
         } catch (SQLException e) {
             System.err.println("Error checking saved status: " + e.getMessage());
             return false;
@@ -263,58 +663,103 @@ public class DatabaseManager {
 
     public void saveDestination(int userId, int destinationId) throws SQLException {
         String sql = "INSERT INTO saved_places(user_id, destination_id) VALUES(?,?)";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, userId);
-            pstmt.setInt(2, destinationId);
-            pstmt.executeUpdate();
+        update("saveDestination", sql, userId, destinationId);
+        SavedPlaces savedPlaces = savedPlacesByUser.get(userId);
+        if (savedPlaces != null) {
+            savedPlaces.add(destinationId);
+        }
+        if (hasCatalogListeners()) {
+            publish(CatalogChange.savedChanged(catalog.getVersion(), userId, destinationId, true));
         }
     }
 
     public void unsaveDestination(int userId, int destinationId) throws SQLException {
         String sql = "DELETE FROM saved_places WHERE user_id = ? AND destination_id = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, userId);
-            pstmt.setInt(2, destinationId);
-            pstmt.executeUpdate();
+        update("unsaveDestination", sql, userId, destinationId);
+        SavedPlaces savedPlaces = savedPlacesByUser.get(userId);
+        if (savedPlaces != null) {
+            savedPlaces.remove(destinationId);
+        }
+        if (hasCatalogListeners()) {
+            publish(CatalogChange.savedChanged(catalog.getVersion(), userId, destinationId, false));
         }
     }
 
-    public List<Destination> getSavedDestinations(int userId) {
-        List<Destination> destinations = new ArrayList<>();
-        String sql = "SELECT d.* FROM destinations d "
+    public List<DestinationSummary> getSavedDestinations(int userId) {
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM destinations d "
                 + "JOIN saved_places s ON d.id = s.destination_id "
                 + "WHERE s.user_id = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, userId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    destinations.add(createDestinationFromResultSet(rs, userId));
-                }
-            }
+        try {
+            return queryList("getSavedDestinations", sql, this::readSummaryRow, userId);
         } catch (SQLException e) {
             System.err.println("Error getting saved destinations: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * @return the number of destinations the user has saved, or -1 on error
+     */
+    public int countSavedDestinations(int userId) {
+        String sql = "SELECT COUNT(*) FROM saved_places s "
+                + "JOIN destinations d ON d.id = s.destination_id WHERE s.user_id = ?";
+        try {
+            Integer count = queryFirst("countSavedDestinations", sql, rs -> rs.getInt(1), userId);
+            return count != null ? count : 0;
+        } catch (SQLException e) {
+            System.err.println("Error counting saved destinations: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Returns one page of the user's saved destinations. The rows have no image path.
+     * @param sortBy "name", "location", "price" or "popularity"; anything else keeps save order
+     * @return the rows, or null on error
+     */
+    public List<DestinationSummary> getSavedDestinationsPage(int userId, String sortBy, boolean ascending,
+                                                             int offset, int limit) {
+        String sql = "SELECT " + SAVED_ROW_COLUMNS + " FROM destinations d "
+                + "JOIN saved_places s ON d.id = s.destination_id "
+                + "WHERE s.user_id = ? ORDER BY " + savedPlacesOrder(sortBy, ascending) + " LIMIT ? OFFSET ?";
+        try {
+            return queryList("getSavedDestinationsPage", sql, this::readSummaryRow, userId, limit, offset);
+        } catch (SQLException e) {
+            System.err.println("Error getting saved destinations page: " + e.getMessage());
+            return null;
         }
-        return destinations;
     }
 
+    /**
+     * The id breaks ties, so pages never overlap or skip rows.
+     */
+    private static String savedPlacesOrder(String sortBy, boolean ascending) {
+        String direction = ascending ? " ASC" : " DESC";
+        switch (sortBy) {
+            case "name":
+                return "d.name COLLATE NOCASE" + direction + ", d.id";
+            case "location":
+                return "d.location COLLATE NOCASE" + direction + ", d.id";
+            case "price":
+                return "price_value" + direction + ", d.id";
+            case "popularity":
+                return "d.popularity" + direction + ", d.id";
+            default:
+                return "s.rowid" + direction;
+        }
+    }
+
+    // --- Users ---
+
     public User getUser(String username) {
         String sql = "SELECT * FROM users WHERE username = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, username);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return new User(
-                            rs.getInt("id"),
-                            rs.getString("username"),
-                            rs.getString("password_hash"),
-                            rs.getString("role")
-                    );
-                }
-            }
+        try {
+            return queryFirst("getUser", sql, rs -> new User(
+                    rs.getInt("id"),
+                    rs.getString("username"),
+                    rs.getString("password_hash"),
+                    rs.getString("role")
+            ), username);
         } catch (SQLException e) {
             System.err.println("Error getting user: " + e.getMessage());
         }
@@ -323,25 +768,20 @@ public class DatabaseManager {
 
     public void createUser(String username, String passwordHash, String role) throws SQLException {
         String sql = "INSERT INTO users(username, password_hash, role) VALUES(?,?,?)";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, username);
-            pstmt.setString(2, passwordHash);
-            pstmt.setString(3, role);
-            pstmt.executeUpdate();
-        }
+        update("createUser", sql, username, passwordHash, role);
     }
 
+    // --- Reviews ---
+
     public void addReview(Review review) {
         String sql = "INSERT INTO reviews(destination_id, user_id, username, rating, comment) VALUES(?,?,?,?,?)";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, review.getDestinationId());
-            pstmt.setInt(2, review.getUserId());
-            pstmt.setString(3, review.getUsername());
-            pstmt.setInt(4, review.getRating());
-            pstmt.setString(5, review.getComment());
-            pstmt.executeUpdate();
+        try {
+            int reviewId = insert("addReview", sql, review.getDestinationId(), review.getUserId(), review.getUsername(),
+                    review.getRating(), review.getComment());
+            if (hasCatalogListeners()) {
+                publish(CatalogChange.reviewAdded(catalog.getVersion(), new Review(reviewId, review.getDestinationId(),
+                        review.getUserId(), review.getUsername(), review.getRating(), review.getComment())));
+            }
         } catch (SQLException e) {
             System.err.println("Error adding review: " + e.getMessage());
             e.printStackTrace();
@@ -349,53 +789,67 @@ public class DatabaseManager {
     }
 
     public List<Review> getReviewsForDestination(int destinationId) {
-        List<Review> reviews = new ArrayList<>();
-        String sql = "SELECT * FROM reviews WHERE destination_id = ? ORDER BY id DESC";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, destinationId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    reviews.add(new Review(
-                            rs.getInt("id"),
-                            rs.getInt("destination_id"),
-                            rs.getInt("user_id"),
-                            rs.getString("username"),
-                            rs.getInt("rating"),
-                            rs.getString("comment")
-                    ));
-                }
-            }
+        return getReviewsForDestination(destinationId, -1);
+    }
+
+    /**
+     * Returns the newest reviews of a destination.
+     * @param limit maximum number of reviews, or -1 for all of them
+     */
+    public List<Review> getReviewsForDestination(int destinationId, int limit) {
+        String sql = "SELECT * FROM reviews WHERE destination_id = ? ORDER BY id DESC LIMIT ?";
+        try {
+            return queryList("getReviewsForDestination", sql, rs -> new Review(
+                    rs.getInt("id"),
+                    rs.getInt("destination_id"),
+                    rs.getInt("user_id"),
+                    rs.getString("username"),
+                    rs.getInt("rating"),
+                    rs.getString("comment")
+            ), destinationId, limit);
         } catch (SQLException e) {
             System.err.println("Error fetching reviews: " + e.getMessage());
             e.printStackTrace();
+            return new ArrayList<>();
         }
-        return reviews;
     }
 
     /**
      * MODIFICATION: Search results are now sorted alphabetically by name.
+     * MODIFICATION: Filters the catalog's name-sorted view in memory instead of
+     * running a LIKE query.
+     * MODIFICATION: If nothing contains the query, returns the closest fuzzy
+     * matches instead (best match first), so typos like "jaipor" still find places.
      */
-    public List<Destination> searchDestinations(String query, int userId) {
-        List<Destination> destinations = new ArrayList<>();
-        // --- FIX: Order by name ASC ---
-        String sql = "SELECT * FROM destinations WHERE LOWER(name) LIKE ? OR LOWER(location) LIKE ? ORDER BY name ASC";
-        // --- End of Fix ---
-
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            String searchTerm = "%" + query.toLowerCase() + "%";
-            pstmt.setString(1, searchTerm);
-            pstmt.setString(2, searchTerm);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    destinations.add(createDestinationFromResultSet(rs, userId));
+    public List<DestinationSummary> searchDestinations(String query) {
+        List<DestinationSummary> destinations = new ArrayList<>();
+        String searchTerm = query.toLowerCase();
+        try {
+            for (DestinationSummary summary : catalog.getSorted("name")) {
+                if (summary.getName().toLowerCase().contains(searchTerm)
+                        || summary.getLocation().toLowerCase().contains(searchTerm)) {
+                    destinations.add(summary);
                 }
             }
+            if (destinations.isEmpty() && searchTerm.trim().length() >= MIN_FUZZY_QUERY_LENGTH) {
+                destinations.addAll(catalog.fuzzySearch(searchTerm, MAX_FUZZY_RESULTS));
+            }
         } catch (SQLException e) {
             System.err.println("Error searching destinations: " + e.getMessage());
         }
         return destinations;
     }
-}
 
+    /**
+     * Autocomplete for the search box: destinations and locations with a word
+     * starting with prefix, most popular first. Served from memory.
+     */
+    public List<Suggestion> getSuggestions(String prefix, int limit) {
+        try {
+            return catalog.complete(prefix, limit);
+        } catch (SQLException e) {
+            System.err.println("Error loading suggestions: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+}
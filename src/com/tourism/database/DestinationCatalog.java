@@ -0,0 +1,220 @@
+package com.tourism.database;
+
+import com.tourism.model.DestinationSummary;
+import com.tourism.search.DestinationFilter;
+import com.tourism.search.FacetIndex;
+import com.tourism.search.FacetResult;
+import com.tourism.search.PrefixIndex;
+import com.tourism.search.Suggestion;
+import com.tourism.search.TrigramIndex;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-through, in-memory cache of the destination catalog.
+ *
+ * The catalog only changes when an admin adds, edits or deletes a place, so
+ * DatabaseManager keeps every destination here as an immutable summary together with
+ * pre-sorted views (default, popularity, price, name). Writes invalidate only
+ * the destinations they touched; those rows are re-read from SQLite on the next
+ * access and the sorted views are rebuilt once.
+ * A PrefixIndex over names and locations is kept in step with the snapshots
+ * for search autocomplete, and a TrigramIndex over names, locations and spots
+ * for fuzzy search. The trigram index needs the spot text, which the snapshots
+ * don't hold, so it is only built by the first fuzzy search. Dashboard filters
+ * run on a columnar FacetIndex, rebuilt on the first filter after a change.
+ */
+class DestinationCatalog {
+
+    private static final Comparator<DestinationSummary> BY_POPULARITY =
+            Comparator.comparingDouble(DestinationSummary::getPopularity).reversed();
+    private static final Comparator<DestinationSummary> BY_PRICE =
+            Comparator.comparingDouble(DestinationSummary::getPriceValue);
+    private static final Comparator<DestinationSummary> BY_NAME =
+            Comparator.comparing(DestinationSummary::getName);
+
+    private final DatabaseManager dbManager;
+
+    // Snapshots keyed by id, in insertion (id) order - the "default" sort.
+    private Map<Integer, DestinationSummary> snapshots;
+    private final Set<Integer> dirtyIds = new HashSet<>();
+    private boolean viewsStale = true;
+    private long version = 0;
+    private final PrefixIndex prefixIndex = new PrefixIndex();
+    private TrigramIndex trigramIndex; // null until the first fuzzy search
+    private FacetIndex facetIndex; // null until the first filter after a change
+
+    private List<DestinationSummary> byDefault = Collections.emptyList();
+    private List<DestinationSummary> byPopularity = Collections.emptyList();
+    private List<DestinationSummary> byPrice = Collections.emptyList();
+    private List<DestinationSummary> byName = Collections.emptyList();
+
+    DestinationCatalog(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Returns the snapshots in the requested order.
+     * @param sortBy "popularity", "price", "name" or anything else for the default (id) order
+     * @return an unmodifiable view
+     */
+    synchronized List<DestinationSummary> getSorted(String sortBy) throws SQLException {
+        ensureFresh();
+        if ("popularity".equals(sortBy)) return byPopularity;
+        if ("price".equals(sortBy)) return byPrice;
+        if ("name".equals(sortBy)) return byName;
+        return byDefault;
+    }
+
+    /**
+     * Returns autocomplete suggestions for the search box.
+     * @see PrefixIndex#complete
+     */
+    synchronized List<Suggestion> complete(String prefix, int limit) throws SQLException {
+        ensureFresh();
+        return prefixIndex.complete(prefix, limit);
+    }
+
+    /**
+     * Filters and sorts the catalog and counts the facets in one pass.
+     * @see FacetIndex#filter
+     */
+    synchronized FacetResult filter(DestinationFilter filter, String sortBy) throws SQLException {
+        ensureFresh();
+        if (facetIndex == null) {
+            facetIndex = new FacetIndex(byDefault, byPopularity, byPrice, byName);
+        }
+        return facetIndex.filter(filter, sortBy);
+    }
+
+    /**
+     * Typo-tolerant search over names, locations and spots.
+     * @return the best matches, most similar first, then most popular
+     * @see TrigramIndex#search
+     */
+    synchronized List<DestinationSummary> fuzzySearch(String query, int limit) throws SQLException {
+        ensureFresh();
+        if (trigramIndex == null) {
+            TrigramIndex index = new TrigramIndex();
+            Map<Integer, String> spots = dbManager.fetchAllSpotTexts();
+            for (DestinationSummary dest : snapshots.values()) {
+                index.put(dest.getId(), dest.getName(), dest.getLocation(), spots.get(dest.getId()));
+            }
+            trigramIndex = index;
+        }
+
+        Map<DestinationSummary, Double> scores = new LinkedHashMap<>();
+        for (TrigramIndex.Match match : trigramIndex.search(query, limit)) {
+            DestinationSummary dest = snapshots.get(match.getDestinationId());
+            if (dest != null) {
+                scores.put(dest, match.getScore());
+            }
+        }
+        List<DestinationSummary> results = new ArrayList<>(scores.keySet());
+        results.sort(Comparator.comparingDouble((DestinationSummary dest) -> scores.get(dest)).reversed()
+                .thenComparing(BY_POPULARITY));
+        return results;
+    }
+
+    /**
+     * Returns the current summary of one destination. Reads just that row if the
+     * catalog has not been loaded yet.
+     * @return the summary, or null if the destination does not exist
+     */
+    synchronized DestinationSummary get(int destinationId) throws SQLException {
+        if (snapshots == null) {
+            return dbManager.fetchSummary(destinationId);
+        }
+        ensureFresh();
+        return snapshots.get(destinationId);
+    }
+
+    /**
+     * Marks one destination as changed. The row is re-read on the next access,
+     * or dropped if it no longer exists.
+     */
+    synchronized void invalidate(int destinationId) {
+        if (snapshots != null) {
+            dirtyIds.add(destinationId);
+        }
+        version++;
+    }
+
+    /**
+     * Drops the whole catalog; the next access reloads everything.
+     */
+    synchronized void invalidateAll() {
+        snapshots = null;
+        dirtyIds.clear();
+        version++;
+    }
+
+    /**
+     * A counter that changes every time the catalog is invalidated.
+     */
+    synchronized long getVersion() {
+        return version;
+    }
+
+    private void ensureFresh() throws SQLException {
+        if (snapshots == null) {
+            Map<Integer, DestinationSummary> loaded = new LinkedHashMap<>();
+            for (DestinationSummary dest : dbManager.fetchAllSummaries()) {
+                loaded.put(dest.getId(), dest);
+            }
+            snapshots = loaded;
+            prefixIndex.clear();
+            trigramIndex = null;
+            for (DestinationSummary dest : loaded.values()) {
+                prefixIndex.put(dest);
+            }
+            dirtyIds.clear();
+            viewsStale = true;
+        } else if (!dirtyIds.isEmpty()) {
+            for (int id : dirtyIds) {
+                DestinationSummary fresh = dbManager.fetchSummary(id);
+                if (fresh == null) {
+                    snapshots.remove(id);
+                    prefixIndex.remove(id);
+                    if (trigramIndex != null) {
+                        trigramIndex.remove(id);
+                    }
+                } else {
+                    // Replacing keeps the entry's position; new rows get the
+                    // highest id, so appending them keeps id order.
+                    snapshots.put(id, fresh);
+                    prefixIndex.put(fresh);
+                    if (trigramIndex != null) {
+                        trigramIndex.put(id, fresh.getName(), fresh.getLocation(), dbManager.fetchSpotText(id));
+                    }
+                }
+            }
+            dirtyIds.clear();
+            viewsStale = true;
+        }
+
+        if (viewsStale) {
+            List<DestinationSummary> all = new ArrayList<>(snapshots.values());
+            byDefault = Collections.unmodifiableList(all);
+            byPopularity = sortedCopy(all, BY_POPULARITY);
+            byPrice = sortedCopy(all, BY_PRICE);
+            byName = sortedCopy(all, BY_NAME);
+            facetIndex = null;
+            viewsStale = false;
+        }
+    }
+
+    private static List<DestinationSummary> sortedCopy(List<DestinationSummary> source, Comparator<DestinationSummary> order) {
+        List<DestinationSummary> copy = new ArrayList<>(source);
+        copy.sort(order);
+        return Collections.unmodifiableList(copy);
+    }
+}
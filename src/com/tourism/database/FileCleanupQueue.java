@@ -0,0 +1,141 @@
+package com.tourism.database;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Removes the files of deleted images from disk in the background.
+ *
+ * Deletes only remove rows; the database queues each file that is no longer
+ * used in pending_file_deletions as part of the same statement. This queue
+ * drains that table in batches on its own thread: shortly after an image or
+ * destination is deleted, and once at start-up for anything left over from a
+ * crash, when ".part" files left by interrupted uploads are removed too. Only
+ * files inside the images folder are deleted (bundled images are classpath
+ * resources). A file that can't be deleted is retried later, and dropped from
+ * the queue after MAX_ATTEMPTS.
+ */
+public class FileCleanupQueue {
+
+    private static final int BATCH_SIZE = 100;
+    private static final int MAX_ATTEMPTS = 5;
+    // Deletes made in quick succession are cleaned up together
+    private static final long BATCH_DELAY_MS = 500;
+    private static final long RETRY_DELAY_MS = 60_000;
+
+    private final DatabaseManager dbManager;
+    private final Path imageDir;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    public FileCleanupQueue(DatabaseManager dbManager, String imageDir) {
+        this.dbManager = dbManager;
+        this.imageDir = Paths.get(imageDir).toAbsolutePath().normalize();
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "file-cleanup");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+
+    /**
+     * Cleans up what is already queued and follows future deletes. Call once at
+     * start-up, before any upload can be running.
+     */
+    public void start() {
+        executor.execute(this::removeUnfinishedUploads);
+        dbManager.addCatalogListener(change -> {
+            if (change.getKind() == CatalogChange.Kind.DESTINATION_DELETED
+                    || change.getKind() == CatalogChange.Kind.IMAGE_REMOVED) {
+                schedule(BATCH_DELAY_MS);
+            }
+        });
+        schedule(0);
+    }
+
+    private void schedule(long delayMs) {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.schedule(this::drain, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void drain() {
+        scheduled.set(false);
+        try {
+            while (true) {
+                Map<Integer, String> batch = dbManager.getPendingFileDeletions(BATCH_SIZE);
+                List<Integer> done = new ArrayList<>();
+                List<Integer> failed = new ArrayList<>();
+                for (Map.Entry<Integer, String> entry : batch.entrySet()) {
+                    if (deleteFile(entry.getValue())) {
+                        done.add(entry.getKey());
+                    } else {
+                        failed.add(entry.getKey());
+                    }
+                }
+                dbManager.completeFileDeletions(done);
+                int abandoned = dbManager.retryFileDeletions(failed, MAX_ATTEMPTS);
+                if (abandoned > 0) {
+                    System.err.println("Gave up deleting " + abandoned + " image file(s) after " + MAX_ATTEMPTS + " attempts");
+                }
+                if (!failed.isEmpty()) {
+                    schedule(RETRY_DELAY_MS); // Failures would come back in the next batch
+                    return;
+                }
+                if (batch.size() < BATCH_SIZE) {
+                    return;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error cleaning up image files: " + e.getMessage());
+            schedule(RETRY_DELAY_MS);
+        }
+    }
+
+    private void removeUnfinishedUploads() {
+        if (!Files.isDirectory(imageDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(imageDir, "*.part")) {
+            for (Path part : parts) {
+                Files.deleteIfExists(part);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not remove unfinished uploads: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return true if the file is gone (or is not ours to delete), false to retry later
+     */
+    private boolean deleteFile(String pathStr) {
+        Path path;
+        try {
+            path = Paths.get(pathStr).toAbsolutePath().normalize();
+        } catch (RuntimeException e) {
+            return true; // Not a file path, e.g. a resource URL
+        }
+        if (!path.startsWith(imageDir)) {
+            return true;
+        }
+        try {
+            Files.deleteIfExists(path);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Could not delete image file " + path + ": " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.tourism.database;
+
+import com.tourism.util.jfr.DatabaseQueryEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects the timing of every statement DatabaseManager runs.
+ *
+ * Each statement has a name (usually the method that runs it) and gets its own
+ * QueryStats. Statements slower than the threshold are logged to stderr with
+ * their bind parameters, except for the statements on user accounts, whose
+ * parameters (usernames, password hashes) are shown only as their types and
+ * lengths. The threshold is 50 ms by default and can be changed
+ * with -Dtourism.db.slowQueryMs=N or setSlowQueryThresholdMs.
+ * It also counts the statements currently running; DatabaseManager opens one
+ * connection per statement, so this is the number of open connections.
+ * Every statement is also emitted as a com.tourism.DatabaseQuery JFR event
+ * when a recording has that event enabled.
+ */
+public class QueryMonitor {
+
+    public static final String SLOW_QUERY_PROPERTY = "tourism.db.slowQueryMs";
+
+    private static final long DEFAULT_SLOW_QUERY_MS = 50;
+    private static final int MAX_LOGGED_PARAM_LENGTH = 40;
+    // Statements whose parameters are credentials or usernames and must not reach the log
+    private static final Set<String> REDACTED_STATEMENTS = Set.of("getUser", "createUser");
+
+    private final Map<String, QueryStats> statsByName = new ConcurrentHashMap<>();
+    private final AtomicInteger activeStatements = new AtomicInteger();
+    private final AtomicInteger peakActiveStatements = new AtomicInteger();
+    private volatile long slowQueryThresholdNanos =
+            Long.getLong(SLOW_QUERY_PROPERTY, DEFAULT_SLOW_QUERY_MS) * 1_000_000L;
+
+    /**
+     * A statement in progress: its start time and JFR event.
+     */
+    static final class Execution {
+        private final long start;
+        private final DatabaseQueryEvent event = new DatabaseQueryEvent();
+
+        private Execution() {
+            event.begin();
+            this.start = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marks the start of a statement.
+     * @return the execution to pass to record
+     */
+    Execution begin() {
+        int active = activeStatements.incrementAndGet();
+        peakActiveStatements.accumulateAndGet(active, Math::max);
+        return new Execution();
+    }
+
+    /**
+     * Records one execution started with begin.
+     * @param execution the value returned by begin
+     * @param rows rows returned by a query or changed by an update
+     * @param error the failure, or null if the statement succeeded
+     */
+    void record(String name, String sql, Object[] params, Execution execution, int rows, Exception error) {
+        long nanos = System.nanoTime() - execution.start;
+        activeStatements.decrementAndGet();
+        DatabaseQueryEvent event = execution.event;
+        event.end();
+        if (event.shouldCommit()) {
+            event.name = name;
+            event.sql = sql;
+            event.rows = rows;
+            event.failed = error != null;
+            event.commit();
+        }
+        statsByName.computeIfAbsent(name, n -> new QueryStats(n, sql)).record(nanos, rows, error != null);
+        if (nanos >= slowQueryThresholdNanos) {
+            System.err.printf("[slow query] %s took %.1f ms (%d rows%s): %s | params: %s%n",
+                    name, nanos / 1_000_000.0, rows, error != null ? ", failed" : "",
+                    sql, formatParams(params, REDACTED_STATEMENTS.contains(name)));
+        }
+    }
+
+    /**
+     * @return the stats of every query that has run, slowest in total first
+     */
+    public List<QueryStats> getStats() {
+        List<QueryStats> stats = new ArrayList<>(statsByName.values());
+        stats.sort(Comparator.comparingDouble(QueryStats::getTotalMillis).reversed());
+        return stats;
+    }
+
+    /**
+     * @return the stats of one query, or null if it has not run yet
+     */
+    public QueryStats getStats(String name) {
+        return statsByName.get(name);
+    }
+
+    /**
+     * @return statements (and so connections) currently open
+     */
+    public int getActiveStatements() {
+        return activeStatements.get();
+    }
+
+    public int getPeakActiveStatements() {
+        return peakActiveStatements.get();
+    }
+
+    /**
+     * @return the number of statements run so far, over all queries
+     */
+    public long getTotalCount() {
+        long total = 0;
+        for (QueryStats stats : statsByName.values()) {
+            total += stats.getCount();
+        }
+        return total;
+    }
+
+    public long getSlowQueryThresholdMs() {
+        return slowQueryThresholdNanos / 1_000_000L;
+    }
+
+    public void setSlowQueryThresholdMs(long thresholdMs) {
+        this.slowQueryThresholdNanos = thresholdMs * 1_000_000L;
+    }
+
+    /**
+     * Clears all counters, e.g. before measuring a single screen.
+     */
+    public void reset() {
+        for (QueryStats stats : statsByName.values()) {
+            stats.reset();
+        }
+    }
+
+    /**
+     * @return one line per query, slowest in total first
+     */
+    public String formatReport() {
+        StringBuilder sb = new StringBuilder();
+        for (QueryStats stats : getStats()) {
+            sb.append(stats).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String formatParams(Object[] params, boolean redact) {
+        if (params == null || params.length == 0) {
+            return "[]";
+        }
+        Object[] shown = Arrays.copyOf(params, params.length);
+        for (int i = 0; i < shown.length; i++) {
+            if (redact) {
+                shown[i] = redacted(shown[i]);
+            } else if (shown[i] instanceof String && ((String) shown[i]).length() > MAX_LOGGED_PARAM_LENGTH) {
+                shown[i] = ((String) shown[i]).substring(0, MAX_LOGGED_PARAM_LENGTH) + "...";
+            }
+        }
+        return Arrays.toString(shown);
+    }
+
+    /**
+     * @return the parameter's type and, for a string, its length, e.g. "<String, 8 chars>"
+     */
+    private static String redacted(Object param) {
+        if (param == null) {
+            return "null";
+        }
+        if (param instanceof String) {
+            return "<String, " + ((String) param).length() + " chars>";
+        }
+        return "<" + param.getClass().getSimpleName() + ">";
+    }
+}
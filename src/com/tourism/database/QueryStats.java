@@ -0,0 +1,68 @@
+package com.tourism.database;
+
+import com.tourism.util.LatencyHistogram;
+
+/**
+ * Running statistics of one named query: how often it ran, how many rows it
+ * returned or changed, how many times it failed and its latency distribution.
+ */
+public class QueryStats {
+
+    private final String name;
+    private final String sql;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private long count = 0;
+    private long errors = 0;
+    private long totalRows = 0;
+    private long totalNanos = 0;
+
+    QueryStats(String name, String sql) {
+        this.name = name;
+        this.sql = sql;
+    }
+
+    synchronized void record(long nanos, int rows, boolean failed) {
+        count++;
+        totalNanos += nanos;
+        totalRows += rows;
+        if (failed) {
+            errors++;
+        }
+        latency.record(nanos);
+    }
+
+    synchronized void reset() {
+        count = 0;
+        errors = 0;
+        totalRows = 0;
+        totalNanos = 0;
+        latency.reset();
+    }
+
+    public String getName() { return name; }
+    public String getSql() { return sql; }
+    public LatencyHistogram getLatencyHistogram() { return latency; }
+
+    public synchronized long getCount() { return count; }
+    public synchronized long getErrorCount() { return errors; }
+    public synchronized long getTotalRows() { return totalRows; }
+
+    public synchronized double getTotalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    public synchronized double getMeanMillis() {
+        return count == 0 ? 0 : totalNanos / 1_000_000.0 / count;
+    }
+
+    public synchronized double getMeanRows() {
+        return count == 0 ? 0 : (double) totalRows / count;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%-28s calls=%-7d errors=%-4d rows/call=%-8.1f mean=%.2fms p99<=%.1fms max=%.1fms total=%.0fms",
+                name, count, errors, getMeanRows(), getMeanMillis(),
+                latency.getPercentileMs(99), latency.getMaxMs(), getTotalMillis());
+    }
+}
@@ -1,42 +1,45 @@
 package com.tourism.gui;
 
-import com.tourism.database.DatabaseManager;
+import com.tourism.database.AsyncDatabaseManager;
 import com.tourism.model.Destination;
+import com.tourism.gui.components.BusyIndicator;
+import com.tourism.gui.components.UploadProgressPanel;
 import com.tourism.gui.components.WrapLayout;
 import com.tourism.main.Main;
+import com.tourism.gui.components.Styles;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.io.File;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Panel with a form to add a new destination.
  * MODIFIED:
  * - Applied Samarkan font to text components.
  * - Set text field/area backgrounds to white.
+ * - Image copies and the insert run in the background.
+ * - The place is saved as soon as its details are written; the images are then
+ *   uploaded by an ImageUploadWorker, with progress and a Cancel button.
  */
 public class AddPlacePanel extends JPanel {
 
     private MainFrame mainFrame;
-    private DatabaseManager dbManager;
+    private AsyncDatabaseManager dbManager;
     private Image backgroundImage;
 
     private JTextField nameField, locationField, priceField, popularityField;
     private JTextArea descriptionArea, touristSpotsArea, localSpotsArea, shopsArea;
     private JButton saveButton, backButton, addImageButton;
     private JPanel imageListPanel;
+    private UploadProgressPanel uploadProgress;
     private List<String> newImagePaths;
 
-    public AddPlacePanel(MainFrame mainFrame, DatabaseManager dbManager) {
+    public AddPlacePanel(MainFrame mainFrame, AsyncDatabaseManager dbManager) {
         this.mainFrame = mainFrame;
         this.dbManager = dbManager;
         this.newImagePaths = new ArrayList<>();
@@ -46,7 +49,7 @@ public class AddPlacePanel extends JPanel {
         setBorder(new EmptyBorder(20, 100, 20, 100));
 
         JLabel titleLabel = new JLabel("Add New Destination");
-        titleLabel.setFont(new Font("Baskerville Old Face", Font.BOLD, 48));
+        titleLabel.setFont(Styles.baskerville(Font.BOLD, 48));
         titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
         titleLabel.setBorder(new EmptyBorder(10, 0, 20, 0));
         add(titleLabel, BorderLayout.NORTH);
@@ -131,7 +134,7 @@ public class AddPlacePanel extends JPanel {
         addImageButton.setBackground(MainFrame.BUTTON_BG);
         addImageButton.setForeground(MainFrame.BUTTON_FG);
         // --- MODIFICATION: Apply Samarkan font ---
-        addImageButton.setFont(new Font("Baskerville Old Face",Font.BOLD, 16));
+        addImageButton.setFont(Styles.baskerville(Font.BOLD, 16));
         // --- End of Modification ---
         addImageButton.addActionListener(e -> selectImages());
         formPanel.add(addImageButton, gbc);
@@ -144,6 +147,10 @@ public class AddPlacePanel extends JPanel {
         imageListScroll.getViewport().setOpaque(false);
         formPanel.add(imageListScroll, gbc);
 
+        gbc.gridx = 1; gbc.gridy = 10; gbc.fill = GridBagConstraints.HORIZONTAL; gbc.weighty = 0;
+        uploadProgress = new UploadProgressPanel();
+        formPanel.add(uploadProgress, gbc);
+
         add(formPanel, BorderLayout.CENTER);
 
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 10));
@@ -151,7 +158,7 @@ public class AddPlacePanel extends JPanel {
 
         backButton = new JButton("Back to Dashboard");
         // --- MODIFICATION: Apply Samarkan font ---
-        backButton.setFont(new Font("Baskerville Old Face",Font.BOLD, 16));
+        backButton.setFont(Styles.baskerville(Font.BOLD, 16));
         // --- End of Modification ---
         backButton.addActionListener(e -> mainFrame.showPanel("dashboard"));
         buttonPanel.add(backButton);
@@ -160,7 +167,7 @@ public class AddPlacePanel extends JPanel {
         saveButton.setBackground(MainFrame.BUTTON_BG);
         saveButton.setForeground(MainFrame.BUTTON_FG);
         // --- MODIFICATION: Apply Samarkan font ---
-        saveButton.setFont(new Font("Baskerville Old Face",Font.BOLD, 16));
+        saveButton.setFont(Styles.baskerville(Font.BOLD, 16));
         // --- End of Modification ---
         saveButton.addActionListener(e -> savePlace());
         buttonPanel.add(saveButton);
@@ -178,7 +185,7 @@ public class AddPlacePanel extends JPanel {
                 newImagePaths.add(file.getAbsolutePath());
                 JLabel imgLabel = new JLabel(file.getName());
                 // --- MODIFICATION: Apply Samarkan font ---
-                imgLabel.setFont(new Font("Baskerville Old Face",Font.PLAIN, 14));
+                imgLabel.setFont(Styles.baskerville(Font.PLAIN, 14));
                 // --- End of Modification ---
                 imgLabel.setBorder(new EmptyBorder(2, 5, 2, 5));
                 imageListPanel.add(imgLabel);
@@ -211,43 +218,66 @@ public class AddPlacePanel extends JPanel {
             return;
         }
 
-        try {
-            List<String> destinationImagePaths = new ArrayList<>();
-            String imgDir = System.getProperty("user.dir") + File.separator + "images";
-            new File(imgDir).mkdirs();
-
-            for (String sourcePathStr : newImagePaths) {
-                File sourceFile = new File(sourcePathStr);
-                String newFileName = UUID.randomUUID().toString() + "_" + sourceFile.getName();
-                Path destPath = Paths.get(imgDir, newFileName);
+        // Save the details first; images are uploaded in the background once the row exists
+        Destination newDest = new Destination(
+                0, name, location, description,
+                new ArrayList<>(), price, popularity, false,
+                touristSpots, localSpots, shops
+        );
+        List<String> imagesToUpload = new ArrayList<>(newImagePaths);
+        CompletableFuture<Integer> future = dbManager.addDestination(newDest);
+
+        saveButton.setEnabled(false);
+        BusyIndicator.track(this, future);
+        AsyncDatabaseManager.onEdt(future,
+                destinationId -> {
+                    if (destinationId == -1) {
+                        saveButton.setEnabled(true);
+                        JOptionPane.showMessageDialog(this, "Error saving place.", "Database Error", JOptionPane.ERROR_MESSAGE);
+                        return;
+                    }
+                    if (imagesToUpload.isEmpty()) {
+                        placeAdded("Place added successfully!");
+                    } else {
+                        uploadImages(destinationId, imagesToUpload);
+                    }
+                },
+                ex -> {
+                    saveButton.setEnabled(true);
+                    JOptionPane.showMessageDialog(this, "Error saving place: " + ex.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+                    ex.printStackTrace();
+                });
+    }
 
-                Files.copy(sourceFile.toPath(), destPath, StandardCopyOption.REPLACE_EXISTING);
-                destinationImagePaths.add(destPath.toString());
+    private void uploadImages(int destinationId, List<String> imagePaths) {
+        ImageUploadWorker worker = new ImageUploadWorker(dbManager, destinationId, imagePaths) {
+            @Override
+            protected void finished() {
+                placeAdded("Place added successfully!\n" + getSummary());
             }
+        };
+        addImageButton.setEnabled(false);
+        uploadProgress.track(worker);
+        worker.execute();
+    }
 
-            Destination newDest = new Destination(
-                    0, name, location, description,
-                    destinationImagePaths, price, popularity, false,
-                    touristSpots, localSpots, shops
-            );
-
-            dbManager.addDestination(newDest);
-
-            JOptionPane.showMessageDialog(this, "Place added successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-            clearForm();
-            mainFrame.getDashboardPanel().loadDestinations("default");
-            mainFrame.showPanel("dashboard");
-
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this, "Error saving place: " + ex.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-            ex.printStackTrace();
+    private void placeAdded(String message) {
+        saveButton.setEnabled(true);
+        addImageButton.setEnabled(true);
+        if (!isShowing()) {
+            // The upload finished after the user left the form; don't pull them back
+            JOptionPane.showMessageDialog(mainFrame, message, "Success", JOptionPane.INFORMATION_MESSAGE);
+            return;
         }
+        JOptionPane.showMessageDialog(this, message, "Success", JOptionPane.INFORMATION_MESSAGE);
+        clearForm();
+        mainFrame.showPanel("dashboard");
     }
 
     private JLabel createFormLabel(String text) {
         JLabel label = new JLabel(text);
         // --- MODIFICATION: Apply Samarkan font ---
-        label.setFont(new Font("Baskerville Old Face",Font.BOLD, 18));
+        label.setFont(Styles.baskerville(Font.BOLD, 18));
         // --- End of Modification ---
         return label;
     }
@@ -1,11 +1,22 @@
 package com.tourism.gui;
 
-import com.tourism.database.DatabaseManager;
+import com.tourism.database.AsyncDatabaseManager;
+import com.tourism.database.CatalogChange;
+import com.tourism.gui.components.BusyIndicator;
 import com.tourism.gui.components.CardFactory;
+import com.tourism.gui.components.SuggestionPopup;
 import com.tourism.gui.components.WrapLayout;
-import com.tourism.model.Destination;
+import com.tourism.model.DestinationSummary;
+import com.tourism.search.DestinationFilter;
+import com.tourism.search.FacetIndex;
+import com.tourism.search.FacetResult;
+import com.tourism.search.Suggestion;
 import com.tourism.user.UserService;
 import com.tourism.main.Main;
+import com.tourism.util.jfr.DashboardLoadEvent;
+import com.tourism.util.jfr.ListingEvent;
+import com.tourism.util.jfr.SearchEvent;
+import com.tourism.gui.components.Styles;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -16,23 +27,73 @@ import java.awt.event.FocusAdapter;
 import java.awt.event.FocusEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The main dashboard panel.
  * MODIFIED:
  * - Applied Samarkan font to text components.
  * - Set search field background to white.
+ * - Destinations are fetched in the background; only the newest request's
+ *   results are shown.
+ * - Times each load (query, card building, layout) for the diagnostics panel.
+ * - Loads and searches are com.tourism.DashboardLoad / com.tourism.Search JFR events.
+ * - Typing in the search box shows autocomplete suggestions; picking a destination
+ *   opens it directly, picking a location searches for it. The cards are searched
+ *   once typing pauses, or at once on Enter.
+ * - Price, rating and location filters with result counts per choice, for the
+ *   listing and for search results alike.
+ * - Fonts and borders come from the shared Styles registry.
+ * - Cards are built in the style chosen in settings (standard or lightweight painted cards).
+ * - Keeps the cards of the last few results (by user, sort, search text, filter and
+ *   card style) with their scroll position; coming back to the dashboard reuses
+ *   them while the catalog version is unchanged instead of rebuilding every card.
+ * - Catalog change events refresh the current result in the background, keeping
+ *   the scroll position; only the cards of changed destinations are rebuilt.
  */
 public class DashboardPanel extends JPanel {
 
     private MainFrame mainFrame;
-    private DatabaseManager dbManager;
+    private AsyncDatabaseManager dbManager;
     private UserService userService;
     private Image backgroundImage;
+    private static final int SUGGESTION_LIMIT = 8;
+    private static final int MAX_LOCATION_CHOICES = 50;
+    private static final int MAX_SNAPSHOTS = 4;
+    private static final int CHANGE_REFRESH_DELAY_MS = 100; // Coalesces the events of one save
+    private static final int SEARCH_DELAY_MS = 300; // Pause in typing before the cards are searched
+
+    private int loadSequence = 0; // Incremented per request; stale results are dropped
+    private int suggestSequence = 0;
+    private volatile LoadTiming lastLoadTiming;
+    private int shownUserId = -1;
+
+    // Recently shown results, most recent last
+    private final Map<String, ResultSnapshot> snapshots = new LinkedHashMap<String, ResultSnapshot>(8, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ResultSnapshot> eldest) {
+            return size() > MAX_SNAPSHOTS;
+        }
+    };
+    private ResultSnapshot shownSnapshot; // Follows the scroll bar while its cards are shown
+    private final Timer changeRefreshTimer;
+    private final Timer searchTimer;
 
     private JLabel userGreetingLabel;
     private JTextField searchField;
+    private SuggestionPopup suggestionPopup;
+    private boolean acceptingSuggestion = false;
+    private DestinationFilter filter = DestinationFilter.NONE;
+    private String currentSort = "default";
+    private boolean updatingFilters = false; // Set while the combo boxes are refilled
+    private JComboBox<FilterChoice> priceFilter;
+    private JComboBox<FilterChoice> ratingFilter;
+    private JComboBox<FilterChoice> locationFilter;
     private JPanel cardsPanel;
     private JScrollPane scrollPane;
     private JButton addPlaceButton;
@@ -42,11 +103,56 @@ public class DashboardPanel extends JPanel {
     private JButton popularButton;
     private JButton priceButton;
 
-    public DashboardPanel(MainFrame mainFrame, DatabaseManager dbManager, UserService userService) {
+    /**
+     * How long the last dashboard load spent in each phase.
+     */
+    public static final class LoadTiming {
+        private final int cards;
+        private final double queryMillis;
+        private final double buildMillis;
+        private final double layoutMillis;
+
+        LoadTiming(int cards, long queryNanos, long buildNanos, long layoutNanos) {
+            this.cards = cards;
+            this.queryMillis = queryNanos / 1_000_000.0;
+            this.buildMillis = buildNanos / 1_000_000.0;
+            this.layoutMillis = layoutNanos / 1_000_000.0;
+        }
+
+        public int getCards() { return cards; }
+        /** From the request until the result reached the EDT. */
+        public double getQueryMillis() { return queryMillis; }
+        public double getBuildMillis() { return buildMillis; }
+        public double getLayoutMillis() { return layoutMillis; }
+    }
+
+    /**
+     * The cards built for one result, to put back without querying or rebuilding.
+     */
+    private static final class ResultSnapshot {
+        final String key;
+        final long catalogVersion;
+        Component[] cards;
+        FacetResult facets;
+        int scrollValue;
+
+        ResultSnapshot(String key, long catalogVersion, int scrollValue) {
+            this.key = key;
+            this.catalogVersion = catalogVersion;
+            this.scrollValue = scrollValue;
+        }
+    }
+
+    public DashboardPanel(MainFrame mainFrame, AsyncDatabaseManager dbManager, UserService userService) {
         this.mainFrame = mainFrame;
         this.dbManager = dbManager;
         this.userService = userService;
         this.backgroundImage = Main.loadBackgroundImage();
+        changeRefreshTimer = new Timer(CHANGE_REFRESH_DELAY_MS, e -> refreshIfOutdated());
+        changeRefreshTimer.setRepeats(false);
+        searchTimer = new Timer(SEARCH_DELAY_MS, e -> searchDestinations());
+        searchTimer.setRepeats(false);
+        dbManager.addCatalogListener(this::applyChange);
         setOpaque(false);
         setLayout(new BorderLayout(0, 0));
 
@@ -55,6 +161,7 @@ public class DashboardPanel extends JPanel {
         headerPanel.setOpaque(false);
         headerPanel.add(createSearchPanel(), BorderLayout.CENTER);
         headerPanel.add(createSortPanel(), BorderLayout.EAST);
+        headerPanel.add(createFilterPanel(), BorderLayout.SOUTH);
         add(headerPanel, BorderLayout.NORTH);
 
         cardsPanel = new JPanel(new WrapLayout(WrapLayout.LEFT, 20, 20));
@@ -66,6 +173,11 @@ public class DashboardPanel extends JPanel {
         scrollPane.getViewport().setOpaque(false);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+            if (shownSnapshot != null) {
+                shownSnapshot.scrollValue = e.getValue();
+            }
+        });
         add(scrollPane, BorderLayout.CENTER);
 
         add(createSidebar(), BorderLayout.WEST);
@@ -79,7 +191,7 @@ public class DashboardPanel extends JPanel {
         sidebar.setPreferredSize(new Dimension(300, 0));
 
         userGreetingLabel = new JLabel("Welcome, Guest!");
-        userGreetingLabel.setFont(new Font("Baskerville Old Face", Font.PLAIN, 28));
+        userGreetingLabel.setFont(Styles.baskerville(Font.PLAIN, 28));
         userGreetingLabel.setBorder(new EmptyBorder(20, 20, 20, 20));
         userGreetingLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         sidebar.add(userGreetingLabel);
@@ -100,11 +212,11 @@ public class DashboardPanel extends JPanel {
         sidebar.add(Box.createVerticalGlue());
 
         signOutButton = new JButton("Sign In / Sign Up");
-        signOutButton.setFont(new Font("Baskerville Old Face", Font.BOLD, 24));
+        signOutButton.setFont(Styles.baskerville(Font.BOLD, 24));
         signOutButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
         signOutButton.setAlignmentX(Component.CENTER_ALIGNMENT);
         signOutButton.setMaximumSize(new Dimension(Integer.MAX_VALUE, 40));
-        signOutButton.setBorder(new EmptyBorder(10, 20, 10, 20));
+        signOutButton.setBorder(Styles.SIDEBAR_BUTTON_BORDER);
         signOutButton.setOpaque(false);
         signOutButton.setContentAreaFilled(false);
         signOutButton.addActionListener(e -> mainFrame.performSignOut());
@@ -132,12 +244,12 @@ public class DashboardPanel extends JPanel {
 
     private JButton createSidebarButton(String text) {
         JButton button = new JButton(text);
-        button.setFont(new Font("Baskerville Old Face",Font.BOLD, 24));
+        button.setFont(Styles.baskerville(Font.BOLD, 24));
         button.setCursor(new Cursor(Cursor.HAND_CURSOR));
         button.setHorizontalAlignment(SwingConstants.CENTER);
         button.setAlignmentX(Component.CENTER_ALIGNMENT);
         button.setMaximumSize(new Dimension(Integer.MAX_VALUE, 50));
-        button.setBorder(new EmptyBorder(10, 20, 10, 20));
+        button.setBorder(Styles.SIDEBAR_BUTTON_BORDER);
         button.setOpaque(false);
         button.setContentAreaFilled(false);
 
@@ -159,13 +271,10 @@ public class DashboardPanel extends JPanel {
         searchPanel.setOpaque(false);
 
         searchField = new JTextField("Search destinations...");
-        searchField.setFont(new Font("Baskerville Old Face",Font.BOLD, 18));
+        searchField.setFont(Styles.baskerville(Font.BOLD, 18));
         searchField.setForeground(UIManager.getColor("Text.disabledText"));
         searchField.setBackground(Color.WHITE);
-        searchField.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(UIManager.getColor("Component.borderColor"), 1, true),
-                new EmptyBorder(10, 15, 10, 15)
-        ));
+        searchField.setBorder(Styles.inputBorder());
 
         searchField.addFocusListener(new FocusAdapter() {
             @Override
@@ -184,11 +293,14 @@ public class DashboardPanel extends JPanel {
             }
         });
 
+        // Suggestions follow every keystroke; the full search waits for a pause in typing
         searchField.getDocument().addDocumentListener(new DocumentListener() {
-            public void insertUpdate(DocumentEvent e) { searchDestinations(); }
-            public void removeUpdate(DocumentEvent e) { searchDestinations(); }
-            public void changedUpdate(DocumentEvent e) { searchDestinations(); }
+            public void insertUpdate(DocumentEvent e) { searchTextChanged(); }
+            public void removeUpdate(DocumentEvent e) { searchTextChanged(); }
+            public void changedUpdate(DocumentEvent e) { searchTextChanged(); }
         });
+        searchField.addActionListener(e -> searchDestinations()); // Enter, unless the popup took it
+        suggestionPopup = new SuggestionPopup(searchField, this::acceptSuggestion);
 
         searchPanel.add(searchField, BorderLayout.CENTER);
         return searchPanel;
@@ -198,7 +310,7 @@ public class DashboardPanel extends JPanel {
         JPanel sortPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 20, 10));
         sortPanel.setOpaque(false);
         JLabel sortLabel = new JLabel("Sort by:");
-        sortLabel.setFont(new Font("Baskerville Old Face",Font.PLAIN, 24));
+        sortLabel.setFont(Styles.baskerville(Font.PLAIN, 24));
         sortPanel.add(sortLabel);
 
         popularButton = new JButton("Popularity");
@@ -216,14 +328,193 @@ public class DashboardPanel extends JPanel {
         return sortPanel;
     }
 
+    /**
+     * An entry of a filter combo box: its label, the number of results it would
+     * give, and the index of the price bucket or rating threshold, or the location.
+     */
+    private static final class FilterChoice {
+        final String label;
+        final int count;
+        final int index;
+        final String location;
+
+        FilterChoice(String label, int count, int index, String location) {
+            this.label = label;
+            this.count = count;
+            this.index = index;
+            this.location = location;
+        }
+
+        boolean isAny() {
+            return index < 0 && location == null;
+        }
+
+        @Override
+        public String toString() {
+            return count < 0 ? label : label + " (" + count + ")";
+        }
+    }
+
+    private JPanel createFilterPanel() {
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        filterPanel.setOpaque(false);
+        JLabel filterLabel = new JLabel("Filter:");
+        filterLabel.setFont(Styles.baskerville(Font.PLAIN, 20));
+        filterPanel.add(filterLabel);
+
+        priceFilter = createFilterComboBox("Any price");
+        ratingFilter = createFilterComboBox("Any rating");
+        locationFilter = createFilterComboBox("Any location");
+        filterPanel.add(priceFilter);
+        filterPanel.add(ratingFilter);
+        filterPanel.add(locationFilter);
+
+        JButton clearButton = new JButton("Clear");
+        styleSortButton(clearButton);
+        clearButton.addActionListener(e -> {
+            // Back to "Any" in every box, or the next change would bring the old choices back
+            updatingFilters = true;
+            try {
+                priceFilter.setSelectedIndex(0);
+                ratingFilter.setSelectedIndex(0);
+                locationFilter.setSelectedIndex(0);
+            } finally {
+                updatingFilters = false;
+            }
+            filter = DestinationFilter.NONE;
+            refreshResults();
+        });
+        filterPanel.add(clearButton);
+        return filterPanel;
+    }
+
+    private JComboBox<FilterChoice> createFilterComboBox(String anyLabel) {
+        JComboBox<FilterChoice> comboBox = new JComboBox<>();
+        comboBox.addItem(new FilterChoice(anyLabel, -1, -1, null));
+        comboBox.setFont(Styles.baskerville(Font.PLAIN, 14));
+        comboBox.setBackground(Color.WHITE);
+        comboBox.addActionListener(e -> {
+            if (!updatingFilters) {
+                applyFilterChoices();
+            }
+        });
+        return comboBox;
+    }
+
+    private void applyFilterChoices() {
+        DestinationFilter updated = DestinationFilter.NONE;
+        FilterChoice price = (FilterChoice) priceFilter.getSelectedItem();
+        if (price != null && !price.isAny()) {
+            double[] bounds = FacetIndex.PRICE_BUCKET_BOUNDS[price.index];
+            updated = updated.withPrice(bounds[0], bounds[1]);
+        }
+        FilterChoice rating = (FilterChoice) ratingFilter.getSelectedItem();
+        if (rating != null && !rating.isAny()) {
+            updated = updated.withMinPopularity(FacetIndex.RATING_THRESHOLDS[rating.index]);
+        }
+        FilterChoice location = (FilterChoice) locationFilter.getSelectedItem();
+        if (location != null && !location.isAny()) {
+            updated = updated.withLocation(location.location);
+        }
+        filter = updated;
+        refreshResults();
+    }
+
+    /**
+     * Reruns the current search, or reloads the listing in its current order.
+     */
+    private void refreshResults() {
+        String query = searchField.getText();
+        if (query.trim().isEmpty() || query.equals("Search destinations...")) {
+            loadDestinations(currentSort);
+        } else {
+            searchDestinations();
+        }
+    }
+
+    /**
+     * Refills the filter combo boxes with the counts of the latest result,
+     * keeping the current choices selected.
+     */
+    private void updateFacets(FacetResult result) {
+        updatingFilters = true;
+        try {
+            priceFilter.removeAllItems();
+            priceFilter.addItem(new FilterChoice("Any price", -1, -1, null));
+            for (int b = 0; b < FacetIndex.PRICE_BUCKET_BOUNDS.length; b++) {
+                FilterChoice choice = new FilterChoice(priceLabel(FacetIndex.PRICE_BUCKET_BOUNDS[b]),
+                        result.getPriceBucketCount(b), b, null);
+                priceFilter.addItem(choice);
+                if (filter.hasPriceRange() && filter.getMinPrice() == FacetIndex.PRICE_BUCKET_BOUNDS[b][0]) {
+                    priceFilter.setSelectedItem(choice);
+                }
+            }
+
+            ratingFilter.removeAllItems();
+            ratingFilter.addItem(new FilterChoice("Any rating", -1, -1, null));
+            for (int t = 0; t < FacetIndex.RATING_THRESHOLDS.length; t++) {
+                double threshold = FacetIndex.RATING_THRESHOLDS[t];
+                FilterChoice choice = new FilterChoice(String.format("Rating %.1f+", threshold),
+                        result.getRatingCount(t), t, null);
+                ratingFilter.addItem(choice);
+                if (filter.getMinPopularity() == threshold) {
+                    ratingFilter.setSelectedItem(choice);
+                }
+            }
+
+            locationFilter.removeAllItems();
+            locationFilter.addItem(new FilterChoice("Any location", -1, -1, null));
+            int shown = 0;
+            for (Map.Entry<String, Integer> entry : result.getLocationCounts().entrySet()) {
+                boolean selected = entry.getKey().equals(filter.getLocation());
+                if (shown++ >= MAX_LOCATION_CHOICES && !selected) continue;
+                FilterChoice choice = new FilterChoice(entry.getKey(), entry.getValue(), -1, entry.getKey());
+                locationFilter.addItem(choice);
+                if (selected) {
+                    locationFilter.setSelectedItem(choice);
+                }
+            }
+        } finally {
+            updatingFilters = false;
+        }
+    }
+
+    private static String priceLabel(double[] bounds) {
+        if (bounds[1] == Double.POSITIVE_INFINITY) {
+            return String.format("₹ %,.0f+", bounds[0]);
+        }
+        return String.format("₹ %,.0f - %,.0f", bounds[0], bounds[1]);
+    }
+
     private void styleSortButton(JButton button) {
         button.setBackground(MainFrame.BUTTON_BG);
         button.setForeground(MainFrame.BUTTON_FG);
-        button.setFont(new Font("Baskerville Old Face",Font.BOLD, 14));
+        button.setFont(Styles.baskerville(Font.BOLD, 14));
         button.setCursor(new Cursor(Cursor.HAND_CURSOR));
     }
 
-    public void loadDestinations(String sortBy) {
+    /**
+     * Shows the dashboard's current listing or search, reusing the cards shown
+     * last time if nothing changed. A different user starts from the default listing.
+     */
+    public void showCurrentResults() {
+        if (userService.getUserId() != shownUserId) {
+            shownUserId = userService.getUserId();
+            currentSort = "default";
+            filter = DestinationFilter.NONE;
+        }
+        updateUserControls();
+        refreshResults();
+    }
+
+    /**
+     * Drops the kept cards, e.g. after the look and feel changed.
+     */
+    public void clearSnapshots() {
+        snapshots.clear();
+    }
+
+    private void updateUserControls() {
         boolean loggedIn = userService.isLoggedIn();
         userGreetingLabel.setText("Welcome, " + userService.getUsername());
 
@@ -240,66 +531,296 @@ public class DashboardPanel extends JPanel {
             signOutButton.setText("Sign In / Sign Up");
             signOutButton.setForeground(new Color(59, 130, 246));
         }
+    }
 
-        cardsPanel.removeAll();
-        try {
-            List<Destination> destinations = dbManager.getAllDestinations(userService.getUserId(), sortBy);
-            if (destinations.isEmpty()) {
-                JLabel noPlacesLabel = new JLabel("No destinations found. Admin can add new places.");
-                noPlacesLabel.setFont(new Font("Baskerville Old Face",Font.PLAIN, 18));
-                cardsPanel.add(noPlacesLabel);
-            } else {
-                for (Destination dest : destinations) {
-                    JPanel card = CardFactory.createDestinationCard(dest, mainFrame);
-                    cardsPanel.add(card);
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            JLabel errorLabel = new JLabel("Error loading destinations: " + e.getMessage());
-            errorLabel.setFont(new Font("Baskerville Old Face",Font.PLAIN, 18));
-            cardsPanel.add(errorLabel);
+    public void loadDestinations(String sortBy) {
+        updateUserControls();
+        currentSort = sortBy;
+        String key = snapshotKey("");
+        if (restoreSnapshot(key)) {
+            return;
+        }
+        ResultSnapshot snapshot = newSnapshot(key);
+        DashboardLoadEvent event = new DashboardLoadEvent();
+        event.begin();
+        event.sortBy = sortBy;
+        CompletableFuture<FacetResult> result = dbManager.filterDestinations(filter, sortBy);
+        int request = fetchAndShow(
+                result.thenApply(r -> r == null ? Collections.<DestinationSummary>emptyList() : r.getDestinations()),
+                event,
+                filter.isEmpty() ? "No destinations found. Admin can add new places." : "No destinations match the filters.",
+                "Error loading destinations: ",
+                snapshot);
+        AsyncDatabaseManager.onEdt(result,
+                r -> {
+                    snapshot.facets = r;
+                    if (r != null && request == loadSequence) {
+                        updateFacets(r);
+                    }
+                },
+                error -> { }); // Reported by fetchAndShow
+    }
+
+    private void searchTextChanged() {
+        // The placeholder is put back when the field loses focus, e.g. to a sort button
+        if (searchField.getText().equals("Search destinations...")) {
+            return;
         }
-        refreshCardsPanel();
+        searchTimer.restart();
+        updateSuggestions();
     }
 
     private void searchDestinations() {
+        searchTimer.stop();
         String query = searchField.getText();
         if (query.equals("Search destinations...")) {
             query = "";
         }
 
         if (query.trim().isEmpty()) {
-            loadDestinations("default");
+            loadDestinations(currentSort); // Keeps the sort and filter
             return;
         }
 
+        String key = snapshotKey(query);
+        if (restoreSnapshot(key)) {
+            return;
+        }
+        ResultSnapshot snapshot = newSnapshot(key);
+        SearchEvent event = new SearchEvent();
+        event.begin();
+        event.query = query;
+        // The filter and the facet counts are applied to the hits in one pass
+        DestinationFilter activeFilter = filter;
+        CompletableFuture<FacetResult> result = dbManager.searchDestinations(query)
+                .thenApply(hits -> FacetIndex.filter(hits, activeFilter));
+        int request = fetchAndShow(result.thenApply(FacetResult::getDestinations), event,
+                "No destinations found matching '" + query + "'.",
+                "Error searching destinations: ",
+                snapshot);
+        AsyncDatabaseManager.onEdt(result,
+                r -> {
+                    snapshot.facets = r;
+                    if (request == loadSequence) {
+                        updateFacets(r);
+                    }
+                },
+                error -> { }); // Reported by fetchAndShow
+    }
+
+    private String snapshotKey(String query) {
+        return userService.getUserId() + "|" + currentSort + "|" + query + "|" + filter + "|" + userService.getCardStyle();
+    }
+
+    private long catalogVersion() {
+        return dbManager.getDatabaseManager().getCatalogVersion();
+    }
+
+    /**
+     * Starts a snapshot for a result about to be loaded. A result shown before
+     * under the same key (now out of date) passes on its scroll position.
+     */
+    private ResultSnapshot newSnapshot(String key) {
+        ResultSnapshot outdated = snapshots.get(key);
+        return new ResultSnapshot(key, catalogVersion(), outdated != null ? outdated.scrollValue : 0);
+    }
+
+    /**
+     * Destination writes make the shown result out of date; reviews and saved flags don't show on cards.
+     */
+    private void applyChange(CatalogChange change) {
+        if (change.getKind() != CatalogChange.Kind.REVIEW_ADDED && change.getKind() != CatalogChange.Kind.SAVED_CHANGED) {
+            changeRefreshTimer.restart();
+        }
+    }
+
+    /**
+     * Reloads the shown result if the catalog changed since it was loaded. Runs
+     * while the dashboard is hidden too, so coming back to it is instant.
+     */
+    private void refreshIfOutdated() {
+        if (lastLoadTiming == null) {
+            return; // Never shown
+        }
+        if (shownSnapshot == null || shownSnapshot.catalogVersion != catalogVersion()) {
+            refreshResults();
+        }
+    }
+
+    /**
+     * Puts back the cards kept under key if the catalog has not changed since they were loaded.
+     * @return false if the result has to be loaded
+     */
+    private boolean restoreSnapshot(String key) {
+        ResultSnapshot snapshot = snapshots.get(key);
+        if (snapshot == null) {
+            return false;
+        }
+        if (snapshot.catalogVersion != catalogVersion()) {
+            snapshots.remove(key);
+            return false;
+        }
+        loadSequence++; // Results still in flight are now stale
         cardsPanel.removeAll();
+        for (Component card : snapshot.cards) {
+            cardsPanel.add(card);
+        }
+        if (snapshot.facets != null) {
+            updateFacets(snapshot.facets);
+        }
+        refreshCardsPanel(snapshot, snapshot.scrollValue);
+        return true;
+    }
+
+    private void updateSuggestions() {
+        int request = ++suggestSequence;
+        String prefix = searchField.getText();
+        if (acceptingSuggestion || !searchField.isFocusOwner()
+                || prefix.trim().isEmpty() || prefix.equals("Search destinations...")) {
+            suggestionPopup.hide();
+            return;
+        }
+        AsyncDatabaseManager.onEdt(dbManager.getSuggestions(prefix, SUGGESTION_LIMIT),
+                suggestions -> {
+                    if (request == suggestSequence && searchField.isFocusOwner()) {
+                        suggestionPopup.show(suggestions);
+                    }
+                },
+                error -> System.err.println("Error loading suggestions: " + error.getMessage()));
+    }
+
+    private void acceptSuggestion(Suggestion suggestion) {
+        suggestSequence++;
+        if (suggestion.getKind() == Suggestion.Kind.DESTINATION) {
+            searchTimer.stop(); // Not behind the detail view
+            mainFrame.showDetailPanel(suggestion.getDestination());
+            return;
+        }
+        // Searching for the location narrows the cards without reopening the popup
+        acceptingSuggestion = true;
         try {
-            List<Destination> destinations = dbManager.searchDestinations(query, userService.getUserId());
-            if (destinations.isEmpty()) {
-                JLabel noMatchLabel = new JLabel("No destinations found matching '" + query + "'.");
-                noMatchLabel.setFont(new Font("Baskerville Old Face",Font.PLAIN, 18));
-                cardsPanel.add(noMatchLabel);
-            } else {
-                for (Destination dest : destinations) {
-                    JPanel card = CardFactory.createDestinationCard(dest, mainFrame);
-                    cardsPanel.add(card);
-                }
+            searchField.setText(suggestion.getText());
+        } finally {
+            acceptingSuggestion = false;
+        }
+        searchDestinations();
+    }
+
+    /**
+     * Shows the result of a background fetch, unless a newer request was made meanwhile.
+     * The event is committed once the results are laid out; superseded requests are not recorded.
+     * @param snapshot filled with the cards and kept if the result is not empty
+     * @return the request number, compared with loadSequence to detect newer requests
+     */
+    private int fetchAndShow(CompletableFuture<List<DestinationSummary>> future, ListingEvent event,
+                              String emptyMessage, String errorPrefix, ResultSnapshot snapshot) {
+        int request = ++loadSequence;
+        long requestedAt = System.nanoTime();
+        if (cardsPanel.getComponentCount() == 0) {
+            cardsPanel.add(createMessageLabel("Loading destinations..."));
+            refreshCardsPanel();
+        }
+        BusyIndicator.track(this, future);
+        AsyncDatabaseManager.onEdt(future,
+                destinations -> {
+                    if (request == loadSequence) {
+                        showDestinations(destinations, emptyMessage, System.nanoTime() - requestedAt, event, snapshot);
+                    }
+                },
+                error -> {
+                    if (request != loadSequence) return;
+                    error.printStackTrace();
+                    cardsPanel.removeAll();
+                    cardsPanel.add(createMessageLabel(errorPrefix + error.getMessage()));
+                    refreshCardsPanel();
+                });
+        return request;
+    }
+
+    /**
+     * Replaces the cards with the given destinations, or shows emptyMessage if there are none.
+     */
+    void showDestinations(List<DestinationSummary> destinations, String emptyMessage) {
+        showDestinations(destinations, emptyMessage, 0, null, null);
+    }
+
+    private void showDestinations(List<DestinationSummary> destinations, String emptyMessage, long queryNanos,
+                                  ListingEvent event, ResultSnapshot snapshot) {
+        long buildStart = System.nanoTime();
+        String cardStyle = userService.getCardStyle();
+        // Catalog summaries are replaced when a destination changes, so a card
+        // showing the very same summary is still up to date
+        Map<DestinationSummary, Component> reusable = new IdentityHashMap<>();
+        for (Component card : cardsPanel.getComponents()) {
+            DestinationSummary shown = CardFactory.getCardDestination(card, cardStyle);
+            if (shown != null) {
+                reusable.put(shown, card);
+            }
+        }
+        cardsPanel.removeAll();
+        if (destinations.isEmpty()) {
+            cardsPanel.add(createMessageLabel(emptyMessage));
+        } else {
+            for (DestinationSummary dest : destinations) {
+                Component card = reusable.remove(dest);
+                cardsPanel.add(card != null ? card : CardFactory.createCard(dest, mainFrame, cardStyle));
+            }
+        }
+        long layoutStart = System.nanoTime();
+        // Lay out now rather than on the next repaint cycle, so the cost can be measured
+        cardsPanel.invalidate();
+        scrollPane.validate();
+        long layoutEnd = System.nanoTime();
+        lastLoadTiming = new LoadTiming(destinations.size(), queryNanos,
+                layoutStart - buildStart, layoutEnd - layoutStart);
+        if (snapshot != null && !destinations.isEmpty()) {
+            snapshot.cards = cardsPanel.getComponents();
+            snapshots.put(snapshot.key, snapshot);
+            refreshCardsPanel(snapshot, snapshot.scrollValue);
+        } else {
+            refreshCardsPanel();
+        }
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.resultCount = destinations.size();
+                event.queryMillis = queryNanos / 1_000_000;
+                event.buildMillis = (layoutStart - buildStart) / 1_000_000;
+                event.layoutMillis = (layoutEnd - layoutStart) / 1_000_000;
+                event.commit();
             }
-        } catch (Exception e) {
-            e.printStackTrace();
-            JLabel errorLabel = new JLabel("Error searching destinations: " + e.getMessage());
-            errorLabel.setFont(new Font("Baskerville Old Face",Font.PLAIN, 18));
-            cardsPanel.add(errorLabel);
         }
-        refreshCardsPanel();
+    }
+
+    /**
+     * @return the timing of the last load, or null before the first one
+     */
+    public LoadTiming getLastLoadTiming() {
+        return lastLoadTiming;
+    }
+
+    private JLabel createMessageLabel(String text) {
+        JLabel label = new JLabel(text);
+        label.setFont(Styles.baskerville(Font.PLAIN, 18));
+        return label;
     }
 
     private void refreshCardsPanel() {
+        refreshCardsPanel(null, 0);
+    }
+
+    /**
+     * @param snapshot the result now shown, which records later scrolling, or null
+     * @param scrollValue where to scroll once the new cards are laid out
+     */
+    private void refreshCardsPanel(ResultSnapshot snapshot, int scrollValue) {
+        shownSnapshot = null; // Relayout moves the scroll bar; don't record that
         cardsPanel.revalidate();
         cardsPanel.repaint();
-        SwingUtilities.invokeLater(() -> scrollPane.getVerticalScrollBar().setValue(0));
+        SwingUtilities.invokeLater(() -> {
+            scrollPane.getVerticalScrollBar().setValue(scrollValue);
+            shownSnapshot = snapshot;
+        });
     }
 
     @Override
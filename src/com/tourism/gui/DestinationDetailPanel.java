@@ -1,11 +1,20 @@
 package com.tourism.gui;
 
-import com.tourism.database.DatabaseManager;
+import com.tourism.database.AsyncDatabaseManager;
+import com.tourism.database.CatalogChange;
 import com.tourism.model.Destination;
+import com.tourism.model.DestinationSummary;
 import com.tourism.model.Review;
 import com.tourism.user.UserService;
+import com.tourism.gui.components.Assets;
+import com.tourism.gui.components.BusyIndicator;
 import com.tourism.gui.components.CardFactory;
+import com.tourism.gui.components.ImageCache;
 import com.tourism.main.Main;
+import com.tourism.util.jfr.DetailOpenEvent;
+import com.tourism.util.jfr.ReviewsLoadEvent;
+import com.tourism.gui.components.Styles;
+import com.tourism.gui.components.UploadProgressPanel;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -15,16 +24,9 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.File;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Panel to show full details of a destination.
@@ -34,13 +36,29 @@ import java.util.UUID;
  * - Set text area and field backgrounds to white.
  * - FIX: Fixed "₹" and rating duplication bug in edit mode.
  * - ADD: Added icons to "Back" and "Saved" buttons.
+ * - The full destination record is loaded here on demand; listings only
+ *   pass a DestinationSummary.
+ * - Uses the record, reviews and images warmed by DestinationPrefetcher when available.
+ * - All database work runs in the background; the panel shows the summary
+ *   while the full record loads.
+ * - Opening a destination and loading its reviews are com.tourism.DetailOpen /
+ *   com.tourism.ReviewsLoad JFR events.
+ * - Review rows use the shared Styles fonts and borders.
+ * - Applies catalog change events to the open destination (new review, image
+ *   added or removed, edit saved, saved flag) instead of querying it again.
+ * - A review's rating is one shared star strip image on its header label, not a label per star.
+ * - Deletes only remove rows; FileCleanupQueue removes the image files afterwards.
+ * - Saving an edit writes the details first; new images are then uploaded by an
+ *   ImageUploadWorker and appear one by one.
  */
 public class DestinationDetailPanel extends JPanel {
 
     private MainFrame mainFrame;
-    private DatabaseManager dbManager;
+    private AsyncDatabaseManager dbManager;
     private UserService userService;
+    private DestinationPrefetcher prefetcher;
     private Destination currentDestination;
+    private String mainImagePath; // The image shown large
     private Image backgroundImage;
 
     private JLabel nameLabel, locationLabel, priceLabel, popularityLabel, mainImageLabel;
@@ -55,13 +73,18 @@ public class DestinationDetailPanel extends JPanel {
 
     private List<String> newImagePaths = new ArrayList<>();
     private JPanel editImagesPanel;
+    private UploadProgressPanel uploadProgress;
     private boolean isEditMode = false;
+    private int loadSequence = 0; // Incremented per load; stale results are dropped
 
-    public DestinationDetailPanel(MainFrame mainFrame, DatabaseManager dbManager, UserService userService) {
+    public DestinationDetailPanel(MainFrame mainFrame, AsyncDatabaseManager dbManager, UserService userService,
+                                  DestinationPrefetcher prefetcher) {
         this.mainFrame = mainFrame;
         this.dbManager = dbManager;
         this.userService = userService;
+        this.prefetcher = prefetcher;
         this.backgroundImage = Main.loadBackgroundImage();
+        dbManager.addCatalogListener(this::applyChange);
         setOpaque(false);
         setLayout(new BorderLayout(15, 15));
         setBorder(new EmptyBorder(20, 20, 20, 20));
@@ -82,12 +105,12 @@ public class DestinationDetailPanel extends JPanel {
         headerPanel.setOpaque(false);
 
         nameLabel = new JLabel("Destination Name");
-        nameLabel.setFont(new Font(Main.SAMARKAN_FONT_NAME, Font.BOLD, 48));
+        nameLabel.setFont(Styles.font(Main.SAMARKAN_FONT_NAME, Font.BOLD, 48));
         headerPanel.add(nameLabel);
 
         locationLabel = new JLabel("Location");
         // --- MODIFICATION: Apply Samarkan font ---
-        locationLabel.setFont(new Font(Main.SAMARKAN_FONT_NAME,Font.PLAIN, 24));
+        locationLabel.setFont(Styles.font(Main.SAMARKAN_FONT_NAME, Font.PLAIN, 24));
         // --- End of Modification ---
         headerPanel.add(locationLabel);
 
@@ -103,7 +126,7 @@ public class DestinationDetailPanel extends JPanel {
         } else {
             backButton.setText("← Back"); // Fallback
         }
-        backButton.setFont(new Font("Baskerville Old Face",Font.BOLD, 16));
+        backButton.setFont(Styles.baskerville(Font.BOLD, 16));
         backButton.addActionListener(e -> mainFrame.showPanel("dashboard"));
         buttonPanel.add(backButton);
         // --- End of Modification ---
@@ -111,7 +134,7 @@ public class DestinationDetailPanel extends JPanel {
         saveButton = new JButton("Save to My List");
         saveButton.setBackground(MainFrame.BUTTON_BG);
         saveButton.setForeground(MainFrame.BUTTON_FG);
-        saveButton.setFont(new Font("Baskerville Old Face",Font.BOLD, 16));
+        saveButton.setFont(Styles.baskerville(Font.BOLD, 16));
         saveButton.addActionListener(e -> toggleSaveDestination());
         buttonPanel.add(saveButton);
 
@@ -119,7 +142,7 @@ public class DestinationDetailPanel extends JPanel {
         editButton.setBackground(MainFrame.ORANGE_COLOR);
         editButton.setForeground(Color.WHITE);
         // --- MODIFICATION: Apply Samarkan font ---
-        editButton.setFont(new Font("Baskerville Old Face",Font.BOLD, 16));
+        editButton.setFont(Styles.baskerville(Font.BOLD, 16));
         // --- End of Modification ---
         editButton.addActionListener(e -> toggleEditMode());
         buttonPanel.add(editButton);
@@ -128,7 +151,7 @@ public class DestinationDetailPanel extends JPanel {
         deleteButton.setBackground(Color.RED);
         deleteButton.setForeground(Color.WHITE);
         // --- MODIFICATION: Apply Samarkan font ---
-        deleteButton.setFont(new Font("Baskerville Old Face",Font.BOLD, 16));
+        deleteButton.setFont(Styles.baskerville(Font.BOLD, 16));
         // --- End of Modification ---
         deleteButton.addActionListener(e -> deleteDestination());
         buttonPanel.add(deleteButton);
@@ -166,12 +189,18 @@ public class DestinationDetailPanel extends JPanel {
         addImageButton.setBackground(MainFrame.BUTTON_BG);
         addImageButton.setForeground(MainFrame.BUTTON_FG);
         // --- MODIFICATION: Apply Samarkan font ---
-        addImageButton.setFont(new Font("Baskerville Old Face",Font.BOLD, 16));
+        addImageButton.setFont(Styles.baskerville(Font.BOLD, 16));
         // --- End of Modification ---
         addImageButton.addActionListener(e -> selectImages());
         editImagesPanel.add(addImageButton, BorderLayout.NORTH);
         editImagesPanel.setVisible(false);
-        leftPanel.add(editImagesPanel, BorderLayout.SOUTH);
+
+        uploadProgress = new UploadProgressPanel();
+        JPanel southPanel = new JPanel(new BorderLayout(5, 5));
+        southPanel.setOpaque(false);
+        southPanel.add(editImagesPanel, BorderLayout.NORTH);
+        southPanel.add(uploadProgress, BorderLayout.SOUTH);
+        leftPanel.add(southPanel, BorderLayout.SOUTH);
 
         return leftPanel;
     }
@@ -180,7 +209,7 @@ public class DestinationDetailPanel extends JPanel {
         tabbedPane = new JTabbedPane();
         tabbedPane.setOpaque(false);
         // --- MODIFICATION: Apply Samarkan font to tabs ---
-        tabbedPane.setFont(new Font("Baskerville Old Face",Font.BOLD, 16));
+        tabbedPane.setFont(Styles.baskerville(Font.BOLD, 16));
         // --- End of Modification ---
 
         JPanel overviewPanel = new JPanel(new BorderLayout(10, 10));
@@ -190,10 +219,10 @@ public class DestinationDetailPanel extends JPanel {
         JPanel statsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 20, 5));
         statsPanel.setOpaque(false);
         priceLabel = new JLabel("Price: N/A");
-        priceLabel.setFont(new Font("Arial", Font.BOLD, 16)); // Keep Arial for numbers
+        priceLabel.setFont(Styles.arial(Font.BOLD, 16)); // Keep Arial for numbers
         statsPanel.add(priceLabel);
         popularityLabel = new JLabel("Rating: N/A");
-        popularityLabel.setFont(new Font("Arial", Font.BOLD, 16)); // Keep Arial for numbers
+        popularityLabel.setFont(Styles.arial(Font.BOLD, 16)); // Keep Arial for numbers
         statsPanel.add(popularityLabel);
         overviewPanel.add(statsPanel, BorderLayout.NORTH);
 
@@ -240,7 +269,7 @@ public class DestinationDetailPanel extends JPanel {
 
         TitledBorder reviewBorder = new TitledBorder("Leave a Review");
         // --- MODIFICATION: Apply Samarkan font to border ---
-        reviewBorder.setTitleFont(new Font("Baskerville Old Face",Font.BOLD, 18));
+        reviewBorder.setTitleFont(Styles.baskerville(Font.BOLD, 18));
         // --- End of Modification ---
         addReviewPanel = new JPanel(new BorderLayout(5, 5));
         addReviewPanel.setOpaque(false);
@@ -250,7 +279,7 @@ public class DestinationDetailPanel extends JPanel {
         reviewInputPanel.setOpaque(false);
         JLabel ratingLabel = new JLabel("Rating:");
         // --- MODIFICATION: Apply Samarkan font ---
-        ratingLabel.setFont(new Font("Baskerville Old Face",Font.PLAIN, 16));
+        ratingLabel.setFont(Styles.baskerville(Font.PLAIN, 16));
         // --- End of Modification ---
         reviewInputPanel.add(ratingLabel);
         ratingComboBox = new JComboBox<>(new Integer[]{5, 4, 3, 2, 1});
@@ -261,7 +290,7 @@ public class DestinationDetailPanel extends JPanel {
         submitReviewButton.setBackground(MainFrame.BUTTON_BG);
         submitReviewButton.setForeground(MainFrame.BUTTON_FG);
         // --- MODIFICATION: Apply Samarkan font ---
-        submitReviewButton.setFont(new Font("Baskerville Old Face",Font.BOLD, 14));
+        submitReviewButton.setFont(Styles.baskerville(Font.BOLD, 14));
         // --- End of Modification ---
         submitReviewButton.addActionListener(e -> submitReview());
         reviewInputPanel.add(submitReviewButton);
@@ -283,7 +312,7 @@ public class DestinationDetailPanel extends JPanel {
 
         TitledBorder reviewsDisplayBorder = new TitledBorder("Reviews");
         // --- MODIFICATION: Apply Samarkan font to border ---
-        reviewsDisplayBorder.setTitleFont(new Font("Baskerville Old Face",Font.BOLD, 18));
+        reviewsDisplayBorder.setTitleFont(Styles.baskerville(Font.BOLD, 18));
         // --- End of Modification ---
         reviewsPanel = new JPanel();
         reviewsPanel.setOpaque(false);
@@ -298,7 +327,103 @@ public class DestinationDetailPanel extends JPanel {
         return rightPanel;
     }
 
-    public void setDestination(Destination destination) {
+    /**
+     * Shows the selected destination. The full record (description, spots, all images,
+     * saved flag) comes from the prefetcher if it is warm, otherwise it is loaded in the
+     * background while the summary is displayed.
+     */
+    public void setDestination(DestinationSummary summary) {
+        DetailOpenEvent event = new DetailOpenEvent();
+        event.begin();
+        event.destinationId = summary.getId();
+        Destination prefetched = prefetcher.takeDetail(summary.getId());
+        if (prefetched != null) {
+            loadSequence++;
+            displayDestination(prefetched);
+            commitDetailOpen(event, true, true);
+            return;
+        }
+        showSummary(summary);
+        loadDestination(summary.getId(), event);
+    }
+
+    /**
+     * @param event committed once the destination is displayed, or null
+     */
+    private void loadDestination(int destinationId, DetailOpenEvent event) {
+        int request = ++loadSequence;
+        CompletableFuture<Destination> future = dbManager.getDestinationById(destinationId, userService.getUserId());
+        BusyIndicator.track(this, future);
+        AsyncDatabaseManager.onEdt(future,
+                destination -> {
+                    if (request != loadSequence) return;
+                    if (destination == null) {
+                        commitDetailOpen(event, false, false);
+                        JOptionPane.showMessageDialog(this, "This destination no longer exists.", "Error", JOptionPane.ERROR_MESSAGE);
+                        mainFrame.showPanel("dashboard");
+                        return;
+                    }
+                    displayDestination(destination);
+                    commitDetailOpen(event, false, true);
+                },
+                error -> {
+                    if (request != loadSequence) return;
+                    JOptionPane.showMessageDialog(this, "Error loading destination: " + error.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+                });
+    }
+
+    private static void commitDetailOpen(DetailOpenEvent event, boolean prefetched, boolean found) {
+        if (event == null) return;
+        event.end();
+        if (event.shouldCommit()) {
+            event.prefetched = prefetched;
+            event.found = found;
+            event.commit();
+        }
+    }
+
+    /**
+     * Fills in what the listing already knows while the full record loads.
+     */
+    private void showSummary(DestinationSummary summary) {
+        this.currentDestination = null;
+        newImagePaths.clear();
+        isEditMode = false;
+        setEditable(false);
+
+        nameLabel.setText(summary.getName());
+        locationLabel.setText(summary.getLocation());
+        priceLabel.setText("Avg. Price (3 Days): ₹ " + summary.getPrice());
+        popularityLabel.setText(String.format("Rating: %.1f", summary.getPopularity()));
+        descriptionArea.setText("Loading...");
+        touristSpotsArea.setText("");
+        localSpotsArea.setText("");
+        shopsArea.setText("");
+
+        mainImageLabel.setIcon(null);
+        mainImageLabel.setText("Loading image...");
+        imagesPanel.removeAll();
+        imagesPanel.revalidate();
+        imagesPanel.repaint();
+        reviewsPanel.removeAll();
+        reviewsPanel.revalidate();
+        reviewsPanel.repaint();
+
+        saveButton.setVisible(false);
+        addReviewPanel.setVisible(false);
+        editButton.setVisible(false);
+        deleteButton.setVisible(false);
+        editImagesPanel.setVisible(false);
+    }
+
+    private void displayDestination(Destination destination) {
+        displayDestination(destination, true);
+    }
+
+    /**
+     * @param loadReviews false to keep the reviews already shown
+     */
+    private void displayDestination(Destination destination, boolean loadReviews) {
         this.currentDestination = destination;
         newImagePaths.clear();
         isEditMode = false;
@@ -327,8 +452,29 @@ public class DestinationDetailPanel extends JPanel {
         editImagesPanel.setVisible(false);
         setEditable(false); // Set text fields to read-only
 
-        // --- MODIFICATION: Update Save button text/icon ---
-        if (destination.isSaved()) {
+        updateSaveButton(destination.isSaved());
+
+        List<Review> prefetchedReviews = loadReviews ? prefetcher.takeReviews(destination.getId()) : null;
+        if (prefetchedReviews != null) {
+            ReviewsLoadEvent event = new ReviewsLoadEvent();
+            event.begin();
+            showReviews(prefetchedReviews);
+            commitReviewsLoad(event, destination.getId(), prefetchedReviews.size(), true);
+        } else if (loadReviews) {
+            loadReviews();
+        }
+
+        SwingUtilities.invokeLater(() -> {
+            descriptionArea.setCaretPosition(0);
+            touristSpotsArea.setCaretPosition(0);
+            localSpotsArea.setCaretPosition(0);
+            shopsArea.setCaretPosition(0);
+        });
+    }
+
+    // --- MODIFICATION: Update Save button text/icon ---
+    private void updateSaveButton(boolean saved) {
+        if (saved) {
             saveButton.setText("Saved ");
             if (MainFrame.savedIcon != null) {
                 saveButton.setIcon(MainFrame.savedIcon);
@@ -341,43 +487,31 @@ public class DestinationDetailPanel extends JPanel {
             saveButton.setIcon(null); // Remove icon if not saved
             saveButton.setBackground(MainFrame.BUTTON_BG);
         }
-        // --- End of Modification ---
-
-        loadReviews();
-
-        SwingUtilities.invokeLater(() -> {
-            descriptionArea.setCaretPosition(0);
-            touristSpotsArea.setCaretPosition(0);
-            localSpotsArea.setCaretPosition(0);
-            shopsArea.setCaretPosition(0);
-        });
     }
+    // --- End of Modification ---
 
     private void toggleSaveDestination() {
         if (currentDestination == null || !userService.isLoggedIn()) return;
-        try {
-            // --- MODIFICATION: Update Save button text/icon on toggle ---
-            if (currentDestination.isSaved()) {
-                dbManager.unsaveDestination(userService.getUserId(), currentDestination.getId());
-                currentDestination.setSaved(false);
-                saveButton.setText("Save to My List");
-                saveButton.setIcon(null); // Remove icon
-                saveButton.setBackground(MainFrame.BUTTON_BG);
-            } else {
-                dbManager.saveDestination(userService.getUserId(), currentDestination.getId());
-                currentDestination.setSaved(true);
-                saveButton.setText("Saved ");
-                if (MainFrame.savedIcon != null) {
-                    saveButton.setIcon(MainFrame.savedIcon);
-                } else {
-                    saveButton.setText("Saved ✔"); // Fallback
-                }
-                saveButton.setBackground(Color.GRAY);
-            }
-            // --- End of Modification ---
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error updating saved status: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        Destination destination = currentDestination;
+        boolean save = !destination.isSaved();
+        CompletableFuture<Void> future = save
+                ? dbManager.saveDestination(userService.getUserId(), destination.getId())
+                : dbManager.unsaveDestination(userService.getUserId(), destination.getId());
+
+        saveButton.setEnabled(false);
+        BusyIndicator.track(this, future);
+        AsyncDatabaseManager.onEdt(future,
+                ignored -> {
+                    saveButton.setEnabled(true);
+                    destination.setSaved(save);
+                    if (destination == currentDestination) {
+                        updateSaveButton(save);
+                    }
+                },
+                error -> {
+                    saveButton.setEnabled(true);
+                    JOptionPane.showMessageDialog(this, "Error updating saved status: " + error.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+                });
     }
 
     private void deleteDestination() {
@@ -388,21 +522,16 @@ public class DestinationDetailPanel extends JPanel {
                 JOptionPane.WARNING_MESSAGE);
 
         if (choice == JOptionPane.YES_OPTION) {
-            try {
-                // TODO: Delete associated images from the "images" folder
-                for(String path : currentDestination.getImagePaths()) {
-                    try {
-                        Files.deleteIfExists(Paths.get(path));
-                    } catch (Exception e) {
-                        System.err.println("Failed to delete image file: " + path);
-                    }
-                }
-                dbManager.deleteDestination(currentDestination.getId());
-                JOptionPane.showMessageDialog(this, "Destination deleted successfully.");
-                mainFrame.showPanel("dashboard");
-            } catch (SQLException e) {
-                JOptionPane.showMessageDialog(this, "Error deleting destination: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-            }
+            Destination destination = currentDestination;
+            // The image files are removed by FileCleanupQueue once the delete is committed
+            CompletableFuture<Void> future = dbManager.deleteDestination(destination.getId());
+            BusyIndicator.track(this, future);
+            AsyncDatabaseManager.onEdt(future,
+                    ignored -> {
+                        JOptionPane.showMessageDialog(this, "Destination deleted successfully.");
+                        mainFrame.showPanel("dashboard");
+                    },
+                    error -> JOptionPane.showMessageDialog(this, "Error deleting destination: " + error.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE));
         }
     }
 
@@ -413,62 +542,143 @@ public class DestinationDetailPanel extends JPanel {
             JOptionPane.showMessageDialog(this, "Please enter a comment.", "Error", JOptionPane.ERROR_MESSAGE);
             return;
         }
-        try {
-            Review review = new Review(0, currentDestination.getId(), userService.getUserId(), userService.getUsername(), rating, comment);
-            dbManager.addReview(review);
-            reviewCommentArea.setText("");
-            loadReviews(); // Refresh review list
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error submitting review: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        Review review = new Review(0, currentDestination.getId(), userService.getUserId(), userService.getUsername(), rating, comment);
+        CompletableFuture<Void> future = dbManager.addReview(review);
+        BusyIndicator.track(this, future);
+        AsyncDatabaseManager.onEdt(future,
+                ignored -> reviewCommentArea.setText(""), // The review is shown by applyChange
+                error -> JOptionPane.showMessageDialog(this, "Error submitting review: " + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
     }
 
     private void loadReviews() {
+        int destinationId = currentDestination.getId();
+        ReviewsLoadEvent event = new ReviewsLoadEvent();
+        event.begin();
+        CompletableFuture<List<Review>> future = dbManager.getReviewsForDestination(destinationId);
+        AsyncDatabaseManager.onEdt(future,
+                reviews -> {
+                    // Ignore if the user has moved on to another destination
+                    if (currentDestination != null && currentDestination.getId() == destinationId) {
+                        showReviews(reviews);
+                        commitReviewsLoad(event, destinationId, reviews.size(), false);
+                    }
+                },
+                error -> System.err.println("Error fetching reviews: " + error.getMessage()));
+    }
+
+    private static void commitReviewsLoad(ReviewsLoadEvent event, int destinationId, int reviewCount, boolean prefetched) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.destinationId = destinationId;
+            event.reviewCount = reviewCount;
+            event.prefetched = prefetched;
+            event.commit();
+        }
+    }
+
+    /**
+     * Updates the open destination after a write, so it does not have to be queried again.
+     */
+    private void applyChange(CatalogChange change) {
+        Destination destination = currentDestination;
+        if (destination == null || change.getDestinationId() != destination.getId()) {
+            return;
+        }
+        switch (change.getKind()) {
+            case REVIEW_ADDED:
+                addReviewCard(change.getReview());
+                break;
+            case IMAGE_REMOVED:
+                destination.getImagePaths().remove(change.getImagePath());
+                loadThumbnails(destination.getImagePaths());
+                if (change.getImagePath().equals(mainImagePath)) {
+                    loadMainImage(destination.getPrimaryImagePath());
+                }
+                break;
+            case DESTINATION_UPDATED:
+                // The edit as written, with any images added before it
+                Destination updated = change.getDestination();
+                updated.setSaved(destination.isSaved());
+                isEditMode = false;
+                displayDestination(updated, false);
+                break;
+            case SAVED_CHANGED:
+                if (change.getUserId() == userService.getUserId()) {
+                    destination.setSaved(change.isSaved());
+                    updateSaveButton(change.isSaved());
+                }
+                break;
+            case IMAGE_ADDED:
+                if (!destination.getImagePaths().contains(change.getImagePath())) {
+                    boolean hadImages = !destination.getImagePaths().isEmpty();
+                    destination.getImagePaths().add(change.getImagePath());
+                    loadThumbnails(destination.getImagePaths());
+                    if (!hadImages) {
+                        loadMainImage(change.getImagePath());
+                    }
+                }
+                break;
+            default:
+                // Deletes navigate away
+                break;
+        }
+    }
+
+    private void addReviewCard(Review review) {
+        if (reviewsPanel.getComponentCount() == 1 && reviewsPanel.getComponent(0) instanceof JLabel) {
+            reviewsPanel.removeAll(); // "No reviews yet."
+        }
+        reviewsPanel.add(createReviewCard(review), 0); // Newest first
+        reviewsPanel.revalidate();
+        reviewsPanel.repaint();
+    }
+
+    private void showReviews(List<Review> reviews) {
         reviewsPanel.removeAll();
-        List<Review> reviews = dbManager.getReviewsForDestination(currentDestination.getId());
         if (reviews.isEmpty()) {
             JLabel noReviewsLabel = new JLabel("No reviews yet.");
-            noReviewsLabel.setFont(new Font("Baskerville Old Face",Font.ITALIC, 16));
+            noReviewsLabel.setFont(Styles.baskerville(Font.ITALIC, 16));
             reviewsPanel.add(noReviewsLabel);
         } else {
             for (Review review : reviews) {
-                JPanel reviewCard = new JPanel(new BorderLayout(5, 5));
-                reviewCard.setOpaque(false);
-                reviewCard.setBorder(new EmptyBorder(10, 5, 10, 5));
-
-                JPanel reviewHeader = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
-                reviewHeader.setOpaque(false);
-                JLabel userLabel = new JLabel(review.getUsername());
-                userLabel.setFont(new Font("Baskerville Old Face",Font.BOLD, 16));
-                reviewHeader.add(userLabel);
-
-                for(int i = 0; i < review.getRating(); i++) {
-                    JLabel starLabel = new JLabel();
-                    if (CardFactory.starIcon != null) {
-                        starLabel.setIcon(CardFactory.starIcon);
-                    } else {
-                        starLabel.setText("⭐");
-                    }
-                    reviewHeader.add(starLabel);
-                }
-                reviewCard.add(reviewHeader, BorderLayout.NORTH);
-
-                JTextArea commentArea = new JTextArea(review.getComment());
-                commentArea.setLineWrap(true);
-                commentArea.setWrapStyleWord(true);
-                commentArea.setEditable(false);
-                commentArea.setOpaque(false);
-                commentArea.setFont(new Font("Baskerville Old Face",Font.PLAIN, 14));
-                reviewCard.add(commentArea, BorderLayout.CENTER);
-
-                reviewsPanel.add(reviewCard);
+                reviewsPanel.add(createReviewCard(review));
             }
         }
         reviewsPanel.revalidate();
         reviewsPanel.repaint();
     }
 
+    private JPanel createReviewCard(Review review) {
+        JPanel reviewCard = new JPanel(new BorderLayout(5, 5));
+        reviewCard.setOpaque(false);
+        reviewCard.setBorder(Styles.REVIEW_BORDER);
+
+        // One label: the name, then the rating as a single pre-composed strip of stars
+        JLabel reviewHeader = new JLabel(review.getUsername());
+        reviewHeader.setFont(Styles.baskerville(Font.BOLD, 16));
+        reviewHeader.setBorder(Styles.REVIEW_HEADER_BORDER);
+        ImageIcon rating = Assets.ratingIcon(review.getRating());
+        if (rating != null) {
+            reviewHeader.setIcon(rating);
+            reviewHeader.setHorizontalTextPosition(SwingConstants.LEADING);
+            reviewHeader.setIconTextGap(5);
+        } else if (review.getRating() > 0) {
+            reviewHeader.setText(review.getUsername() + " " + "⭐".repeat(Math.min(review.getRating(), Assets.MAX_RATING)));
+        }
+        reviewCard.add(reviewHeader, BorderLayout.NORTH);
+
+        JTextArea commentArea = new JTextArea(review.getComment());
+        commentArea.setLineWrap(true);
+        commentArea.setWrapStyleWord(true);
+        commentArea.setEditable(false);
+        commentArea.setOpaque(false);
+        commentArea.setFont(Styles.baskerville(Font.PLAIN, 14));
+        reviewCard.add(commentArea, BorderLayout.CENTER);
+        return reviewCard;
+    }
+
     private void loadMainImage(String path) {
+        mainImagePath = path;
         ImageIcon icon = createScaledIcon(path, 400, 300);
         if (icon != null) {
             mainImageLabel.setIcon(icon);
@@ -476,7 +686,7 @@ public class DestinationDetailPanel extends JPanel {
         } else {
             mainImageLabel.setIcon(null);
             mainImageLabel.setText("Image not found");
-            mainImageLabel.setFont(new Font("Baskerville Old Face",Font.BOLD, 20));
+            mainImageLabel.setFont(Styles.baskerville(Font.BOLD, 20));
         }
     }
 
@@ -501,7 +711,7 @@ public class DestinationDetailPanel extends JPanel {
 
                 JButton deleteImgBtn = new JButton("X");
                 deleteImgBtn.setMargin(new Insets(0,0,0,0));
-                deleteImgBtn.setFont(new Font("Arial", Font.BOLD, 10));
+                deleteImgBtn.setFont(Styles.arial(Font.BOLD, 10));
                 deleteImgBtn.setForeground(Color.WHITE);
                 deleteImgBtn.setBackground(Color.RED);
                 deleteImgBtn.setBounds(60, 0, 20, 20);
@@ -520,13 +730,11 @@ public class DestinationDetailPanel extends JPanel {
     private void deleteImage(String imagePath) {
         int choice = JOptionPane.showConfirmDialog(this, "Delete this image?", "Confirm", JOptionPane.YES_NO_OPTION);
         if (choice == JOptionPane.YES_OPTION) {
-            try {
-                dbManager.deleteImageByPath(imagePath);
-                Files.deleteIfExists(Paths.get(imagePath));
-                setDestination(dbManager.getDestinationById(currentDestination.getId(), userService.getUserId()));
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(this, "Could not delete image: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            CompletableFuture<Void> future = dbManager.deleteImageByPath(imagePath); // The file is removed by FileCleanupQueue
+            BusyIndicator.track(this, future);
+            AsyncDatabaseManager.onEdt(future,
+                    ignored -> { }, // The thumbnail is removed by applyChange
+                    error -> JOptionPane.showMessageDialog(this, "Could not delete image: " + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
         }
     }
 
@@ -539,29 +747,7 @@ public class DestinationDetailPanel extends JPanel {
     }
 
     private ImageIcon createScaledIcon(String path, int width, int height) {
-        try {
-            File f = new File(path);
-            if (f.exists()) {
-                URL url = f.toURI().toURL();
-                ImageIcon icon = new ImageIcon(url);
-                Image img = icon.getImage().getScaledInstance(width, height, Image.SCALE_SMOOTH);
-                return new ImageIcon(img);
-            }
-        } catch (Exception e) {
-            // Error loading from file, will try resource
-        }
-
-        try {
-            URL resourceUrl = getClass().getResource(path);
-            if (resourceUrl != null) {
-                ImageIcon icon = new ImageIcon(resourceUrl);
-                Image img = icon.getImage().getScaledInstance(width, height, Image.SCALE_SMOOTH);
-                return new ImageIcon(img);
-            }
-        } catch (Exception ex) {
-            // Both failed
-        }
-        return null;
+        return ImageCache.getScaledIcon(path, width, height);
     }
 
     private void selectImages() {
@@ -594,7 +780,7 @@ public class DestinationDetailPanel extends JPanel {
             saveEditedPlace(); // <-- Save is called *here*
             editButton.setText("Edit");
             editButton.setBackground(MainFrame.ORANGE_COLOR);
-            // setEditable(false) is called inside saveEditedPlace() via setDestination()
+            // setEditable(false) is called inside saveEditedPlace() via displayDestination()
         }
         // Reload thumbnails to show/hide delete buttons
         loadThumbnails(currentDestination.getImagePaths());
@@ -629,19 +815,19 @@ public class DestinationDetailPanel extends JPanel {
             // --- End of Fix ---
 
             JLabel priceDesc = new JLabel("Avg. Price (3 Days): ");
-            priceDesc.setFont(new Font("Baskerville Old Face",Font.BOLD, 16));
+            priceDesc.setFont(Styles.baskerville(Font.BOLD, 16));
             statsPanel.add(priceDesc, 0);
             statsPanel.add(priceField, 1);
 
             JLabel popDesc = new JLabel("Rating: ");
-            popDesc.setFont(new Font("Baskerville Old Face",Font.BOLD, 16));
+            popDesc.setFont(Styles.baskerville(Font.BOLD, 16));
             statsPanel.add(popDesc, 2);
             statsPanel.add(popField, 3);
 
         } else {
-            // --- Swap back to JLabels (handled by setDestination) ---
+            // --- Swap back to JLabels (handled by displayDestination) ---
             // If the components are text fields, just remove them.
-            // setDestination() will add the JLabels back.
+            // displayDestination() will add the JLabels back.
             if(headerPanel.getComponent(0) instanceof JTextField) {
                 headerPanel.removeAll();
                 headerPanel.add(nameLabel);
@@ -667,9 +853,10 @@ public class DestinationDetailPanel extends JPanel {
 
     /**
      * MODIFICATION: Refactored logic to prevent "Save successful" loop.
-     * This method now sets isEditMode = false *before* calling setDestination.
+     * This method now sets isEditMode = false *before* calling displayDestination.
      */
     private void saveEditedPlace() {
+        Destination editedDest;
         try {
             // 1. Get data from editable components
             String name = ((JTextField) headerPanel.getComponent(0)).getText();
@@ -679,7 +866,7 @@ public class DestinationDetailPanel extends JPanel {
             String price = ((JTextField) statsPanel.getComponent(1)).getText();
             double popularity = Double.parseDouble(((JTextField) statsPanel.getComponent(3)).getText());
 
-            Destination editedDest = new Destination(
+            editedDest = new Destination(
                     currentDestination.getId(),
                     name,
                     location,
@@ -692,35 +879,43 @@ public class DestinationDetailPanel extends JPanel {
                     localSpotsArea.getText(),
                     shopsArea.getText()
             );
-
-            // 3. Save new images
-            if (!newImagePaths.isEmpty()) {
-                String imgDir = System.getProperty("user.dir") + File.separator + "images";
-                new File(imgDir).mkdirs();
-                for (String sourcePathStr : newImagePaths) {
-                    File sourceFile = new File(sourcePathStr);
-                    String newFileName = UUID.randomUUID().toString() + "_" + sourceFile.getName();
-                    Path destPath = Paths.get(imgDir, newFileName);
-                    Files.copy(sourceFile.toPath(), destPath, StandardCopyOption.REPLACE_EXISTING);
-                    editedDest.getImagePaths().add(destPath.toString());
-                    dbManager.addImageForDestination(editedDest.getId(), destPath.toString());
-                }
-            }
-
-            dbManager.updateDestination(editedDest);
-
-            // --- FIX: Show dialog *before* reloading ---
-            JOptionPane.showMessageDialog(this, "Save successful!");
-            isEditMode = false; // Set state
-            // Reload this destination (this also reverts components to JLabels)
-            setDestination(dbManager.getDestinationById(editedDest.getId(), userService.getUserId()));
-
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "Popularity must be a valid number (e.g., 8.5).", "Input Error", JOptionPane.ERROR_MESSAGE);
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error saving changes: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+            return;
         }
+
+        // 2. Write the details, then upload any new images in the background
+        List<String> imagesToAdd = new ArrayList<>(newImagePaths);
+        CompletableFuture<Void> future = dbManager.updateDestination(editedDest);
+
+        BusyIndicator.track(this, future);
+        AsyncDatabaseManager.onEdt(future,
+                ignored -> {
+                    // --- FIX: Show dialog *before* reloading ---
+                    // applyChange has already shown the edit (and reverted the components to JLabels)
+                    if (!imagesToAdd.isEmpty()) {
+                        uploadImages(editedDest.getId(), imagesToAdd);
+                    }
+                    JOptionPane.showMessageDialog(this, "Save successful!");
+                },
+                error -> {
+                    JOptionPane.showMessageDialog(this, "Error saving changes: " + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    error.printStackTrace();
+                });
+    }
+
+    private void uploadImages(int destinationId, List<String> imagePaths) {
+        ImageUploadWorker worker = new ImageUploadWorker(dbManager, destinationId, imagePaths) {
+            @Override
+            protected void finished() {
+                // Uploaded images were added by applyChange as they arrived; only report problems
+                if (isCancelled() || !getFailures().isEmpty()) {
+                    JOptionPane.showMessageDialog(DestinationDetailPanel.this, getSummary(), "Image Upload", JOptionPane.WARNING_MESSAGE);
+                }
+            }
+        };
+        uploadProgress.track(worker);
+        worker.execute();
     }
 
     private JTextField createEditableLabel(String text, Font font) {
@@ -739,7 +934,7 @@ public class DestinationDetailPanel extends JPanel {
         textArea.setEditable(false);
         textArea.setLineWrap(true);
         textArea.setWrapStyleWord(true);
-        textArea.setFont(new Font("Baskerville Old Face",Font.PLAIN, 18));
+        textArea.setFont(Styles.baskerville(Font.PLAIN, 18));
         textArea.setOpaque(true);
         textArea.setBackground(Color.WHITE);
         textArea.setBorder(new EmptyBorder(5, 5, 5, 5));
@@ -0,0 +1,198 @@
+package com.tourism.gui;
+
+import com.tourism.database.CatalogChange;
+import com.tourism.database.DatabaseManager;
+import com.tourism.gui.components.ImageCache;
+import com.tourism.model.Destination;
+import com.tourism.model.DestinationSummary;
+import com.tourism.model.Review;
+import com.tourism.user.UserService;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms the detail view of a destination while the pointer rests on its card.
+ *
+ * After a short hover, CardFactory asks for a prefetch of the full record, the
+ * 400x300 main image, the 80x60 thumbnails and the first page of reviews.
+ * The work runs on two low-priority daemon threads with a small queue (older
+ * requests are dropped first), and is cancelled when the pointer leaves the card.
+ * DestinationDetailPanel then takes the results instead of querying on the EDT.
+ * Any write to a destination (a new review included, which leaves the catalog
+ * version alone) drops its entry and cancels its prefetch.
+ */
+public class DestinationPrefetcher {
+
+    public static final int HOVER_DWELL_MS = 250;
+    public static final int REVIEW_PAGE_SIZE = 20;
+
+    private static final int MAX_THREADS = 2;
+    private static final int MAX_QUEUED = 4;
+    private static final int MAX_ENTRIES = 16;
+    private static final long ENTRY_TTL_MS = 30_000;
+
+    private final DatabaseManager dbManager;
+    private final UserService userService;
+    private final ThreadPoolExecutor executor;
+    private final Map<Integer, Future<?>> inFlight = new HashMap<>();
+    private final Map<Integer, CachedDetail> entries = new LinkedHashMap<Integer, CachedDetail>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, CachedDetail> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private static class CachedDetail {
+        final int userId;
+        final long catalogVersion;
+        final long fetchedAt;
+        Destination detail;  // Cleared once taken by the detail panel
+        final List<Review> firstReviews;
+
+        CachedDetail(int userId, long catalogVersion, Destination detail, List<Review> firstReviews) {
+            this.userId = userId;
+            this.catalogVersion = catalogVersion;
+            this.fetchedAt = System.currentTimeMillis();
+            this.detail = detail;
+            this.firstReviews = firstReviews;
+        }
+    }
+
+    public DestinationPrefetcher(DatabaseManager dbManager, UserService userService) {
+        this.dbManager = dbManager;
+        this.userService = userService;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED),
+                r -> {
+                    Thread t = new Thread(r, "destination-prefetch-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                },
+                (rejected, pool) -> {
+                    // Over budget: drop the oldest queued prefetch, the pointer has long moved on
+                    Runnable oldest = pool.getQueue().poll();
+                    if (oldest instanceof Future) {
+                        ((Future<?>) oldest).cancel(false);
+                    }
+                    pool.execute(rejected);
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+        dbManager.addCatalogListener(this::evict);
+    }
+
+    /**
+     * Drops what was fetched before a write to the destination. Saved flags are
+     * read again by takeDetail, so saving keeps the entry.
+     */
+    private synchronized void evict(CatalogChange change) {
+        if (change.getKind() == CatalogChange.Kind.SAVED_CHANGED) {
+            return;
+        }
+        entries.remove(change.getDestinationId());
+        cancel(change.getDestinationId()); // A load that read before the write must not store it
+    }
+
+    /**
+     * Starts warming the detail view of a destination, unless it is already warm or in flight.
+     */
+    public synchronized void prefetch(DestinationSummary summary) {
+        int id = summary.getId();
+        int userId = userService.getUserId();
+        Future<?> running = inFlight.get(id);
+        CachedDetail cached = entries.get(id);
+        if ((running != null && !running.isDone()) || (isFresh(cached, userId) && cached.detail != null)) {
+            return;
+        }
+        long catalogVersion = dbManager.getCatalogVersion();
+        FutureTask<Void> task = new FutureTask<Void>(() -> load(id, userId, catalogVersion), null) {
+            @Override
+            protected void done() {
+                synchronized (DestinationPrefetcher.this) {
+                    // Only our own entry: after a cancel, a newer prefetch of this id may be in flight
+                    inFlight.remove(id, this);
+                }
+            }
+        };
+        inFlight.put(id, task);
+        executor.execute(task);
+    }
+
+    /**
+     * Cancels a prefetch that has not finished yet. Results already cached are kept.
+     */
+    public synchronized void cancel(int destinationId) {
+        Future<?> future = inFlight.remove(destinationId);
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Returns (and forgets) the prefetched full record, or null if there is none
+     * or it may be out of date.
+     */
+    public synchronized Destination takeDetail(int destinationId) {
+        CachedDetail entry = entries.get(destinationId);
+        if (!isFresh(entry, userService.getUserId()) || entry.detail == null) {
+            return null;
+        }
+        // The saved flag may have changed since the prefetch; the saved set is in memory
+        Destination detail = entry.detail;
+        detail.setSaved(dbManager.isDestinationSaved(destinationId, entry.userId));
+        entry.detail = null;
+        return detail;
+    }
+
+    /**
+     * Returns (and forgets) the prefetched reviews if they are the complete list,
+     * or null if the caller should query them.
+     */
+    public synchronized List<Review> takeReviews(int destinationId) {
+        CachedDetail entry = entries.remove(destinationId);
+        if (!isFresh(entry, userService.getUserId()) || entry.firstReviews == null
+                || entry.firstReviews.size() >= REVIEW_PAGE_SIZE) {
+            return null;
+        }
+        return entry.firstReviews;
+    }
+
+    private boolean isFresh(CachedDetail entry, int userId) {
+        return entry != null
+                && entry.userId == userId
+                && entry.catalogVersion == dbManager.getCatalogVersion()
+                && System.currentTimeMillis() - entry.fetchedAt < ENTRY_TTL_MS;
+    }
+
+    private void load(int destinationId, int userId, long catalogVersion) {
+        Destination detail = dbManager.getDestinationById(destinationId, userId);
+        if (detail == null || Thread.currentThread().isInterrupted()) return;
+
+        List<Review> firstReviews = dbManager.getReviewsForDestination(destinationId, REVIEW_PAGE_SIZE);
+        synchronized (this) {
+            if (Thread.currentThread().isInterrupted()) {
+                return; // Cancelled, e.g. by evict; cancel interrupts while holding this lock
+            }
+            entries.put(destinationId, new CachedDetail(userId, catalogVersion, detail, firstReviews));
+        }
+
+        // Images last: they are the slowest part and are cached on their own
+        if (Thread.currentThread().isInterrupted()) return;
+        ImageCache.getScaledIcon(detail.getPrimaryImagePath(), 400, 300);
+        for (String path : detail.getImagePaths()) {
+            if (Thread.currentThread().isInterrupted()) return;
+            ImageCache.getScaledIcon(path, 80, 60);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.tourism.gui;
+
+import com.tourism.database.AsyncDatabaseManager;
+import com.tourism.database.QueryMonitor;
+import com.tourism.database.QueryStats;
+import com.tourism.gui.components.ImageCache;
+import com.tourism.util.EdtWatchdog;
+import com.tourism.util.LatencyHistogram;
+import com.tourism.gui.components.Styles;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.util.List;
+
+/**
+ * Admin-only section of the settings screen with live performance numbers:
+ * database activity and query latencies, image cache, heap, EDT stalls and the
+ * breakdown of the last dashboard load.
+ *
+ * Refreshes once a second while it is showing. The numbers are gathered and
+ * formatted by a SwingWorker, so the EDT only sets the resulting text; a tick
+ * is skipped if the previous one is still running.
+ */
+public class DiagnosticsPanel extends JPanel {
+
+    private static final int REFRESH_MS = 1000;
+    private static final int TOP_QUERIES = 8;
+
+    private final MainFrame mainFrame;
+    private final AsyncDatabaseManager dbManager;
+    private final JTextArea textArea;
+    private final Timer refreshTimer;
+    private SwingWorker<String, Void> pendingRefresh;
+
+    public DiagnosticsPanel(MainFrame mainFrame, AsyncDatabaseManager dbManager) {
+        this.mainFrame = mainFrame;
+        this.dbManager = dbManager;
+        setOpaque(false);
+        setLayout(new BorderLayout(0, 10));
+
+        JLabel titleLabel = new JLabel("Diagnostics");
+        titleLabel.setFont(Styles.baskerville(Font.BOLD, 22));
+        add(titleLabel, BorderLayout.NORTH);
+
+        textArea = new JTextArea(16, 90);
+        textArea.setEditable(false);
+        textArea.setFont(Styles.font(Font.MONOSPACED, Font.PLAIN, 13));
+        textArea.setBackground(Color.WHITE);
+        textArea.setBorder(new EmptyBorder(8, 8, 8, 8));
+        JScrollPane scrollPane = new JScrollPane(textArea);
+        scrollPane.setBorder(BorderFactory.createLineBorder(Color.GRAY));
+        add(scrollPane, BorderLayout.CENTER);
+
+        refreshTimer = new Timer(REFRESH_MS, e -> refresh());
+        refreshTimer.setInitialDelay(0);
+
+        // Only tick while the panel is on screen
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) {
+                if (isShowing()) {
+                    refreshTimer.start();
+                } else {
+                    refreshTimer.stop();
+                }
+            }
+        });
+    }
+
+    private void refresh() {
+        if (pendingRefresh != null && !pendingRefresh.isDone()) {
+            return;
+        }
+        DashboardPanel.LoadTiming lastLoad = mainFrame.getDashboardPanel().getLastLoadTiming();
+        pendingRefresh = new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() {
+                return buildReport(lastLoad);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    int caret = textArea.getCaretPosition();
+                    textArea.setText(get());
+                    textArea.setCaretPosition(Math.min(caret, textArea.getDocument().getLength()));
+                } catch (Exception ex) {
+                    textArea.setText("Could not read diagnostics: " + ex.getMessage());
+                }
+            }
+        };
+        pendingRefresh.execute();
+    }
+
+    private String buildReport(DashboardPanel.LoadTiming lastLoad) {
+        StringBuilder sb = new StringBuilder();
+        QueryMonitor monitor = dbManager.getDatabaseManager().getQueryMonitor();
+
+        sb.append(String.format("Database     open connections %d (peak %d), pending reads %d, pending writes %d%n",
+                monitor.getActiveStatements(), monitor.getPeakActiveStatements(),
+                dbManager.getPendingReads(), dbManager.getPendingWrites()));
+        sb.append(String.format("Queries      %d run, slow query threshold %d ms%n",
+                monitor.getTotalCount(), monitor.getSlowQueryThresholdMs()));
+        List<QueryStats> stats = monitor.getStats();
+        if (!stats.isEmpty()) {
+            sb.append(String.format("  %-28s %8s %10s %10s %10s%n", "query", "calls", "p50 (ms)", "p99 (ms)", "rows/call"));
+        }
+        for (QueryStats query : stats.subList(0, Math.min(TOP_QUERIES, stats.size()))) {
+            LatencyHistogram latency = query.getLatencyHistogram();
+            sb.append(String.format("  %-28s %8d %10.1f %10.1f %10.1f%n", query.getName(), query.getCount(),
+                    latency.getPercentileMs(50), latency.getPercentileMs(99), query.getMeanRows()));
+        }
+
+        long hits = ImageCache.getHits();
+        long misses = ImageCache.getMisses();
+        long lookups = hits + misses;
+        sb.append(String.format("Image cache  %d images, %.1f MB, hit rate %s (%d hits, %d misses)%n",
+                ImageCache.size(), ImageCache.getCachedBytes() / (1024.0 * 1024.0),
+                lookups == 0 ? "n/a" : String.format("%.0f%%", 100.0 * hits / lookups), hits, misses));
+
+        Runtime runtime = Runtime.getRuntime();
+        long usedMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+        sb.append(String.format("Heap         %d MB used of %d MB (max %d MB)%n",
+                usedMb, runtime.totalMemory() / (1024 * 1024), runtime.maxMemory() / (1024 * 1024)));
+
+        EdtWatchdog watchdog = EdtWatchdog.getInstance();
+        if (watchdog == null) {
+            sb.append("EDT          watchdog off (start with -D").append(EdtWatchdog.ENABLED_PROPERTY).append("=true)\n");
+        } else {
+            LatencyHistogram dispatch = watchdog.getLatencyHistogram();
+            sb.append(String.format("EDT          %d stalls, dispatch latency p50 <= %.1f ms, p99 <= %.1f ms, max %.1f ms%n",
+                    watchdog.getStallCount(), dispatch.getPercentileMs(50), dispatch.getPercentileMs(99), dispatch.getMaxMs()));
+        }
+
+        if (lastLoad == null) {
+            sb.append("Dashboard    not loaded yet\n");
+        } else {
+            sb.append(String.format("Dashboard    last load of %d cards: query %.1f ms, card build %.1f ms, layout %.1f ms%n",
+                    lastLoad.getCards(), lastLoad.getQueryMillis(), lastLoad.getBuildMillis(), lastLoad.getLayoutMillis()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,242 @@
+package com.tourism.gui;
+
+import com.tourism.database.AsyncDatabaseManager;
+import com.tourism.database.DatabaseManager;
+import com.tourism.gui.components.ImageCache;
+
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import java.awt.Dimension;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Uploads images for a destination that is already saved.
+ *
+ * Each file is copied into the images folder with a channel transfer (into a
+ * ".part" file that is moved into place once complete), checked for its size
+ * and decoded once to make the card and thumbnail sizes in the ImageCache, then
+ * registered with addImageForDestination. Views pick each image up from its
+ * IMAGE_ADDED change, so they fill in while the rest are still copying.
+ *
+ * Progress is the share of bytes copied (the "progress" property) and the
+ * "status" property names the file being uploaded. cancel(true) stops after
+ * the current file's copy is interrupted; its partial file is deleted and the
+ * images already registered are kept. Files that fail are skipped and listed
+ * by getFailures().
+ *
+ * A cancelled SwingWorker is done at once, while its file may still be
+ * copying or registering, so report the result in finished() rather than
+ * done(). finished() runs on the EDT once the background loop has returned,
+ * and then fires the "finished" property.
+ */
+public class ImageUploadWorker extends SwingWorker<List<String>, Void> {
+
+    /** Sizes decoded ahead of time: the dashboard card and the detail thumbnail. */
+    private static final Dimension[] PREPARED_SIZES = {new Dimension(280, 200), new Dimension(80, 60)};
+
+    private final AsyncDatabaseManager dbManager;
+    private final int destinationId;
+    private final List<File> sources;
+    private final List<String> failures = new ArrayList<>();
+    private volatile int uploadedCount = 0;
+    private int endings = 0; // done() and the end of doInBackground; counted on the EDT
+    // Claimed by doInBackground when it starts, or by done() for a worker cancelled before that
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    public ImageUploadWorker(AsyncDatabaseManager dbManager, int destinationId, List<String> sourcePaths) {
+        this.dbManager = dbManager;
+        this.destinationId = destinationId;
+        this.sources = new ArrayList<>();
+        for (String path : sourcePaths) {
+            sources.add(new File(path));
+        }
+    }
+
+    /**
+     * @return "name: reason" for every file that was not uploaded; read once the worker is done
+     */
+    public synchronized List<String> getFailures() {
+        return new ArrayList<>(failures);
+    }
+
+    /**
+     * @return the number of images registered so far, including before a cancel
+     */
+    public int getUploadedCount() {
+        return uploadedCount;
+    }
+
+    /**
+     * @return a message for the user once the worker is done, e.g. "3 of 4 images were uploaded."
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        if (uploadedCount == sources.size()) {
+            summary.append(sources.size() == 1 ? "The image was uploaded." : "All " + sources.size() + " images were uploaded.");
+        } else {
+            summary.append(uploadedCount).append(" of ").append(sources.size()).append(" images were uploaded.");
+        }
+        if (isCancelled()) {
+            summary.append("\nThe upload was cancelled.");
+        }
+        for (String failure : getFailures()) {
+            summary.append("\n").append(failure);
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Runs on the EDT once the worker is done and its background loop has returned,
+     * so getUploadedCount() and getFailures() are final.
+     */
+    protected void finished() {
+    }
+
+    @Override
+    protected final void done() {
+        if (isCancelled() && started.compareAndSet(false, true)) {
+            ended(); // Cancelled while queued: the loop never runs to count its end
+        }
+        ended();
+    }
+
+    private void ended() {
+        if (++endings == 2) {
+            finished();
+            firePropertyChange("finished", false, true);
+        }
+    }
+
+    @Override
+    protected List<String> doInBackground() throws Exception {
+        if (!started.compareAndSet(false, true)) {
+            return new ArrayList<>(); // Cancelled, and done() has already counted this end
+        }
+        try {
+            return upload();
+        } finally {
+            SwingUtilities.invokeLater(this::ended);
+        }
+    }
+
+    private List<String> upload() throws IOException {
+        Path imageDir = Paths.get(DatabaseManager.IMAGE_DIR);
+        Files.createDirectories(imageDir);
+
+        long totalBytes = 0;
+        for (File source : sources) {
+            totalBytes += source.length();
+        }
+        long copiedBytes = 0;
+        List<String> uploaded = new ArrayList<>();
+
+        for (int i = 0; i < sources.size() && !isCancelled(); i++) {
+            File source = sources.get(i);
+            firePropertyChange("status", null, (i + 1) + " of " + sources.size() + ": " + source.getName());
+
+            Path target = imageDir.resolve(UUID.randomUUID() + "_" + source.getName());
+            try {
+                copy(source.toPath(), target);
+            } catch (ClosedByInterruptException e) {
+                break; // Cancelled mid-copy; copy() removed the partial file
+            } catch (NoSuchFileException e) {
+                addFailure(source, "was not found");
+                continue;
+            } catch (IOException e) {
+                addFailure(source, "could not be copied (" + e.getMessage() + ")");
+                continue;
+            } finally {
+                copiedBytes += source.length();
+                setProgress(totalBytes > 0 ? (int) Math.min(100, copiedBytes * 100 / totalBytes) : 100);
+            }
+
+            if (!ImageCache.prepare(target.toString(), PREPARED_SIZES)) {
+                Files.deleteIfExists(target);
+                addFailure(source, "is not a readable image");
+                continue;
+            }
+            if (isCancelled()) {
+                Files.deleteIfExists(target); // Not registered yet
+                break;
+            }
+            try {
+                awaitUninterruptibly(dbManager.addImageForDestination(destinationId, target.toString()));
+                uploaded.add(target.toString());
+                uploadedCount++;
+            } catch (ExecutionException e) {
+                Files.deleteIfExists(target);
+                addFailure(source, "could not be saved (" + e.getCause().getMessage() + ")");
+            }
+        }
+        return uploaded;
+    }
+
+    /**
+     * Copies with FileChannel.transferTo into a temporary file, then moves it into place,
+     * so a cancelled or failed copy never leaves a truncated image under the final name.
+     */
+    private static void copy(Path source, Path target) throws IOException {
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(part, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+            if (out.size() != size) {
+                throw new IOException("copied " + out.size() + " of " + size + " bytes");
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(part);
+            throw e;
+        }
+        try {
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(part);
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for a registration even if a cancel interrupts the worker, so an
+     * image that does get registered is always counted. The interrupt is kept.
+     */
+    private static void awaitUninterruptibly(Future<?> future) throws ExecutionException {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    future.get();
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private synchronized void addFailure(File source, String reason) {
+        failures.add(source.getName() + ": " + reason);
+    }
+}
@@ -1,21 +1,27 @@
 package com.tourism.gui;
 
+import com.tourism.database.AsyncDatabaseManager;
 import com.tourism.database.DatabaseManager;
-import com.tourism.model.Destination;
+import com.tourism.model.DestinationSummary;
 import com.tourism.user.UserService;
 import com.formdev.flatlaf.FlatDarkLaf;
 import com.formdev.flatlaf.FlatLightLaf;
 import com.tourism.main.Main;
+import com.tourism.gui.components.Assets;
+import com.tourism.gui.components.Styles;
 
 import javax.swing.*;
 import java.awt.*;
-import java.net.URL; // --- ADD: Import URL for icons ---
 
 /**
  * The main window (JFrame) of the application.
  * MODIFIED:
  * - Added helper method to get the custom Samarkan font.
  * - ADD: Added static icons for buttons.
+ * - Panels get an AsyncDatabaseManager so no query runs on the EDT.
+ * - Fonts come from the shared Styles registry, which is refreshed on theme changes.
+ * - Returning to the dashboard keeps its sort, search and filters and reuses its cards.
+ * - Icons are the shared, pre-scaled Assets instances.
  */
 public class MainFrame extends JFrame {
 
@@ -31,46 +37,24 @@ public class MainFrame extends JFrame {
     private WelcomePanel welcomePanel;
 
     private UserService userService;
-    private DatabaseManager dbManager;
+    private AsyncDatabaseManager dbManager;
+    private DestinationPrefetcher prefetcher;
 
     public static final Color BUTTON_BG = new Color(126, 51, 39); // #7e3327
     public static final Color BUTTON_FG = new Color(210, 195, 169); // #d2c3a9
     public static final Color ORANGE_COLOR = new Color(245, 158, 11); // For Edit
 
     // --- ADD: Static icons ---
-    public static ImageIcon backIcon;
-    public static ImageIcon savedIcon;
-
-    static {
-        try {
-            URL backUrl = Main.class.getResource("/com/tourism/resources/assets/back-arrow.png");
-            if (backUrl != null) {
-                Image backImg = new ImageIcon(backUrl).getImage().getScaledInstance(16, 16, Image.SCALE_SMOOTH);
-                backIcon = new ImageIcon(backImg);
-            } else {
-                System.err.println("Could not load back-arrow.png icon");
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading back-arrow.png icon: " + e.getMessage());
-        }
-        try {
-            URL savedUrl = Main.class.getResource("/com/tourism/resources/assets/tick-mark.png");
-            if (savedUrl != null) {
-                Image savedImg = new ImageIcon(savedUrl).getImage().getScaledInstance(16, 16, Image.SCALE_SMOOTH);
-                savedIcon = new ImageIcon(savedImg);
-            } else {
-                System.err.println("Could not load tick-mark.png icon");
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading tick-mark.png icon: " + e.getMessage());
-        }
-    }
+    // Shared, pre-scaled instances from the Assets registry; null if the asset is missing
+    public static ImageIcon backIcon = Assets.icon(Assets.BACK_ARROW, Assets.ICON_SIZE, Assets.ICON_SIZE);
+    public static ImageIcon savedIcon = Assets.icon(Assets.TICK_MARK, Assets.ICON_SIZE, Assets.ICON_SIZE);
     // --- End of ADD ---
 
 
     public MainFrame(DatabaseManager dbManager, UserService userService) {
         this.userService = userService;
-        this.dbManager = dbManager;
+        this.dbManager = new AsyncDatabaseManager(dbManager);
+        this.prefetcher = new DestinationPrefetcher(dbManager, userService);
 
         updateTheme();
         setTitle("Tour My Guide");
@@ -82,13 +66,13 @@ public class MainFrame extends JFrame {
         mainPanel = new JPanel(cardLayout);
 
         welcomePanel = new WelcomePanel(this);
-        signInPanel = new SignInPanel(this, dbManager, userService);
-        signUpPanel = new SignUpPanel(this, dbManager, userService);
-        dashboardPanel = new DashboardPanel(this, dbManager, userService);
-        addPlacePanel = new AddPlacePanel(this, dbManager);
-        settingsPanel = new SettingsPanel(this, userService);
-        detailPanel = new DestinationDetailPanel(this, dbManager, userService);
-        savedPlacesPanel = new SavedPlacesPanel(this, dbManager, userService);
+        signInPanel = new SignInPanel(this, this.dbManager, userService);
+        signUpPanel = new SignUpPanel(this, this.dbManager, userService);
+        dashboardPanel = new DashboardPanel(this, this.dbManager, userService);
+        addPlacePanel = new AddPlacePanel(this, this.dbManager);
+        settingsPanel = new SettingsPanel(this, this.dbManager, userService);
+        detailPanel = new DestinationDetailPanel(this, this.dbManager, userService, prefetcher);
+        savedPlacesPanel = new SavedPlacesPanel(this, this.dbManager, userService);
 
         mainPanel.add(welcomePanel, "welcome");
         mainPanel.add(signInPanel, "signIn");
@@ -105,15 +89,18 @@ public class MainFrame extends JFrame {
 
     public void showPanel(String panelName) {
         if (panelName.equals("dashboard")) {
-            dashboardPanel.loadDestinations("default");
+            dashboardPanel.showCurrentResults();
         }
         if (panelName.equals("saved")) {
             savedPlacesPanel.loadSavedDestinations(userService.getUserId());
         }
+        if (panelName.equals("settings")) {
+            settingsPanel.refresh();
+        }
         cardLayout.show(mainPanel, panelName);
     }
 
-    public void showDetailPanel(Destination destination) {
+    public void showDetailPanel(DestinationSummary destination) {
         detailPanel.setDestination(destination);
         showPanel("detail");
     }
@@ -131,6 +118,10 @@ public class MainFrame extends JFrame {
         return savedPlacesPanel;
     }
 
+    public DestinationPrefetcher getPrefetcher() {
+        return prefetcher;
+    }
+
     public void updateTheme() {
         try {
             if ("Dark".equals(userService.getTheme())) {
@@ -138,7 +129,11 @@ public class MainFrame extends JFrame {
             } else {
                 UIManager.setLookAndFeel(new FlatLightLaf());
             }
+            Styles.refresh();
             SwingUtilities.updateComponentTreeUI(this);
+            if (dashboardPanel != null) {
+                dashboardPanel.clearSnapshots(); // Kept cards are not in the tree and missed the update
+            }
         } catch (Exception ex) {
             System.err.println("Failed to set LaF: " + ex.getMessage());
         }
@@ -151,16 +146,12 @@ public class MainFrame extends JFrame {
      * @return The custom Samarkan font, or a fallback Serif font.
      */
     public static Font getSamarkanFont(int style, float size) {
-        if (Main.SAMARKAN_FONT != null) {
-            // Derive the font with the requested style and size
-            return Main.SAMARKAN_FONT.deriveFont(style, size);
-        }
-        // Fallback font if Samarkan failed to load
-        return new Font("Serif", style, (int) size);
+        // Shared instance; falls back to Serif if Samarkan failed to load
+        return Styles.samarkan(style, size);
     }
 
     // Helper to apply title font by name (used for main titles)
     public static void applyTitleFontByName(JLabel label, float size) {
-        label.setFont(new Font(Main.SAMARKAN_FONT_NAME, Font.BOLD, (int) size));
+        label.setFont(Styles.font(Main.SAMARKAN_FONT_NAME, Font.BOLD, (int) size));
     }
 }
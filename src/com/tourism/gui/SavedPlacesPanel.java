@@ -1,36 +1,40 @@
 package com.tourism.gui;
 
-import com.tourism.database.DatabaseManager;
-import com.tourism.model.Destination;
+import com.tourism.database.AsyncDatabaseManager;
+import com.tourism.gui.components.BusyIndicator;
+import com.tourism.model.DestinationSummary;
 import com.tourism.user.UserService;
 import com.tourism.main.Main;
+import com.tourism.gui.components.Styles;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Panel to show a table of saved destinations.
  * MODIFIED:
  * - Applied Samarkan font to text components.
  * - ADD: Added icon to "Back" button.
+ * - Saved places are loaded in the background.
+ * - The table is backed by SavedPlacesTableModel, which fetches rows a page at a
+ *   time as the table scrolls and sorts in the database when a header is clicked.
+ * - The table follows catalog change events, so showing the panel again does not reload it.
  */
 public class SavedPlacesPanel extends JPanel {
 
     private MainFrame mainFrame;
-    private DatabaseManager dbManager;
+    private AsyncDatabaseManager dbManager;
     private UserService userService;
 
     private JTable destinationsTable;
-    private DefaultTableModel tableModel;
-    private List<Destination> currentSavedList;
+    private SavedPlacesTableModel tableModel;
     private Image backgroundImage;
 
-    public SavedPlacesPanel(MainFrame mainFrame, DatabaseManager dbManager, UserService userService) {
+    public SavedPlacesPanel(MainFrame mainFrame, AsyncDatabaseManager dbManager, UserService userService) {
         this.mainFrame = mainFrame;
         this.dbManager = dbManager;
         this.userService = userService;
@@ -52,29 +56,25 @@ public class SavedPlacesPanel extends JPanel {
         // --- End of Modification ---
 
         // --- MODIFICATION: Apply Samarkan font ---
-        backButton.setFont(new Font("Baskerville Old Face",Font.BOLD, 16));
+        backButton.setFont(Styles.baskerville(Font.BOLD, 16));
         // --- End of Modification ---
         backButton.addActionListener(e -> mainFrame.showPanel("dashboard"));
         topPanel.add(backButton, BorderLayout.WEST);
 
         JLabel titleLabel = new JLabel("My Saved Places");
         // --- MODIFICATION: Apply Samarkan font ---
-        titleLabel.setFont(new Font("Baskerville Old Face",Font.BOLD, 48));
+        titleLabel.setFont(Styles.baskerville(Font.BOLD, 48));
         // --- End of Modification ---
         titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
         topPanel.add(titleLabel, BorderLayout.CENTER);
         add(topPanel, BorderLayout.NORTH);
 
-        String[] columnNames = {"Name", "Location", "Price", "Popularity"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table cells not editable
-            }
-        };
+        tableModel = new SavedPlacesTableModel(dbManager);
+        dbManager.addCatalogListener(tableModel::applyChange);
         destinationsTable = new JTable(tableModel);
+        destinationsTable.setRowSorter(tableModel.createSorter()); // Header clicks sort in the database
         // --- MODIFICATION: Apply Samarkan font to table ---
-        destinationsTable.setFont(new Font("Baskerville Old Face",Font.PLAIN, 16));
+        destinationsTable.setFont(Styles.baskerville(Font.PLAIN, 16));
         destinationsTable.getTableHeader().setFont(MainFrame.getSamarkanFont(Font.BOLD, 18));
         // --- End of Modification ---
         destinationsTable.setRowHeight(30);
@@ -88,8 +88,10 @@ public class SavedPlacesPanel extends JPanel {
             public void mouseClicked(MouseEvent e) {
                 if (e.getClickCount() == 2) {
                     int selectedRow = destinationsTable.getSelectedRow();
-                    if (selectedRow >= 0 && currentSavedList != null && selectedRow < currentSavedList.size()) {
-                        Destination selectedDest = currentSavedList.get(selectedRow);
+                    DestinationSummary selectedDest = selectedRow >= 0
+                            ? tableModel.getDestinationAt(destinationsTable.convertRowIndexToModel(selectedRow))
+                            : null;
+                    if (selectedDest != null) {
                         mainFrame.showDetailPanel(selectedDest);
                     }
                 }
@@ -105,25 +107,15 @@ public class SavedPlacesPanel extends JPanel {
     }
 
     public void loadSavedDestinations(int userId) {
-        tableModel.setRowCount(0);
         if (userId == -1) {
-            tableModel.addRow(new Object[]{"Please log in to see saved places.", "", "", ""});
+            tableModel.showMessage("Please log in to see saved places.");
             return;
         }
-
-        currentSavedList = dbManager.getSavedDestinations(userId);
-        if (currentSavedList.isEmpty()) {
-            tableModel.addRow(new Object[]{"No saved places yet.", "", "", ""});
-        } else {
-            for (Destination dest : currentSavedList) {
-                tableModel.addRow(new Object[]{
-                        dest.getName(),
-                        dest.getLocation(),
-                        dest.getPrice(),
-                        String.format("%.1f", dest.getPopularity()) // Keep numbers as Arial
-                });
-            }
+        if (tableModel.isLoadedFor(userId)) {
+            return; // Kept current by change events
         }
+        CompletableFuture<Integer> future = tableModel.load(userId);
+        BusyIndicator.track(this, future);
     }
 
     @Override
@@ -0,0 +1,443 @@
+package com.tourism.gui;
+
+import com.tourism.database.AsyncDatabaseManager;
+import com.tourism.database.CatalogChange;
+import com.tourism.model.DestinationSummary;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Table model for the saved places screen that loads its rows a page at a time.
+ *
+ * Only the row count is fetched up front. A page is requested the first time
+ * the JTable asks for one of its rows (that is, when it scrolls into view) and
+ * shows "Loading..." until it arrives. Sorting is done by the database, so
+ * changing the sort drops the loaded pages. A few recently used pages are kept.
+ * Install createSorter() on the table so header clicks sort and the look and
+ * feel shows the sort arrow. Must be used on the EDT.
+ *
+ * Once loaded, the model follows catalog change events: saving or unsaving a
+ * place adjusts the row count, and edits and deletes update the loaded rows in
+ * place. Rows whose position can't be known without a query are dropped and
+ * fetched again when shown.
+ */
+public class SavedPlacesTableModel extends AbstractTableModel {
+
+    static final int PAGE_SIZE = 50;
+    private static final int MAX_CACHED_PAGES = 20;
+
+    private static final String[] COLUMN_NAMES = {"Name", "Location", "Price", "Popularity"};
+    private static final String[] SORT_KEYS = {"name", "location", "price", "popularity"};
+
+    private final AsyncDatabaseManager dbManager;
+
+    private final Map<Integer, List<DestinationSummary>> pages =
+            new LinkedHashMap<Integer, List<DestinationSummary>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, List<DestinationSummary>> eldest) {
+                    return size() > MAX_CACHED_PAGES;
+                }
+            };
+    private final Set<Integer> pendingPages = new HashSet<>();
+
+    private int userId = -1;
+    private int loadedUserId = -1; // The user whose row count is known, or -1
+    private int rowCount = 0;
+    private String message; // Shown as a single row instead of data, or null
+    private int sortColumn = -1; // -1 keeps the order places were saved in
+    private boolean ascending = true;
+    private int generation = 0; // Incremented whenever loaded rows become stale
+
+    public SavedPlacesTableModel(AsyncDatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Loads the saved places of a user, keeping the current sort.
+     * @return completes once the row count is known
+     */
+    public CompletableFuture<Integer> load(int userId) {
+        int request = reset();
+        this.userId = userId;
+        loadedUserId = -1;
+        fireTableDataChanged();
+        CompletableFuture<Integer> future = dbManager.countSavedDestinations(userId);
+        AsyncDatabaseManager.onEdt(future,
+                count -> {
+                    if (request != generation) return;
+                    if (count < 0) {
+                        showMessage("Error loading saved places.");
+                        return;
+                    }
+                    if (count == 0) {
+                        setMessage("No saved places yet.");
+                    } else {
+                        rowCount = count;
+                        fireTableDataChanged();
+                    }
+                    loadedUserId = userId;
+                },
+                error -> {
+                    if (request != generation) return;
+                    showMessage("Error loading saved places.");
+                    System.err.println("Error counting saved destinations: " + error.getMessage());
+                });
+        return future;
+    }
+
+    /**
+     * Replaces the rows with a single message row.
+     */
+    public void showMessage(String text) {
+        loadedUserId = -1;
+        setMessage(text);
+    }
+
+    private void setMessage(String text) {
+        reset();
+        message = text;
+        fireTableDataChanged();
+    }
+
+    /**
+     * @return true if the rows of this user are loaded and kept current by applyChange
+     */
+    public boolean isLoadedFor(int userId) {
+        return userId != -1 && loadedUserId == userId;
+    }
+
+    /**
+     * Applies a committed write to the loaded rows. Register with
+     * AsyncDatabaseManager.addCatalogListener so it runs on the EDT.
+     */
+    public void applyChange(CatalogChange change) {
+        if (loadedUserId == -1) {
+            return;
+        }
+        int row = findLoadedRow(change.getDestinationId());
+        switch (change.getKind()) {
+            case SAVED_CHANGED:
+                if (change.getUserId() != loadedUserId) {
+                    return;
+                }
+                if (!change.isSaved() && row >= 0) {
+                    removeRow(row);
+                } else {
+                    // Where the row is (or was) needs the database; keep the count, refetch the rows
+                    setRowCountAndRefetch(rowCount + (change.isSaved() ? 1 : -1));
+                }
+                break;
+            case DESTINATION_UPDATED:
+                if (row >= 0 && change.getSummary() != null) {
+                    replaceRow(row, change.getSummary());
+                }
+                break;
+            case DESTINATION_DELETED:
+                if (row >= 0) {
+                    removeRow(row);
+                } else {
+                    load(loadedUserId); // It may have been saved on a page that isn't loaded
+                }
+                break;
+            default:
+                break; // Images, reviews and new destinations don't change this table
+        }
+    }
+
+    private int findLoadedRow(int destinationId) {
+        if (message != null) {
+            return -1;
+        }
+        for (Map.Entry<Integer, List<DestinationSummary>> entry : pages.entrySet()) {
+            List<DestinationSummary> page = entry.getValue();
+            for (int i = 0; i < page.size(); i++) {
+                if (page.get(i).getId() == destinationId) {
+                    return entry.getKey() * PAGE_SIZE + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void replaceRow(int row, DestinationSummary updated) {
+        List<DestinationSummary> page = new ArrayList<>(pages.get(row / PAGE_SIZE));
+        DestinationSummary old = page.set(row % PAGE_SIZE, updated);
+        if (sortColumn >= 0 && !sortValue(old).equals(sortValue(updated))) {
+            setRowCountAndRefetch(rowCount); // The row may move
+            return;
+        }
+        pages.put(row / PAGE_SIZE, page);
+        dropPendingPages();
+        fireTableRowsUpdated(row, row);
+    }
+
+    private void removeRow(int row) {
+        int pageIndex = row / PAGE_SIZE;
+        List<DestinationSummary> page = new ArrayList<>(pages.get(pageIndex));
+        page.remove(row % PAGE_SIZE);
+        // Later rows move up a place, so later pages no longer match their offsets. This
+        // page is one row short; its last row reads as not loaded and refetches the page.
+        pages.keySet().removeIf(index -> index > pageIndex);
+        pages.put(pageIndex, page);
+        dropPendingPages();
+        if (--rowCount == 0) {
+            setMessage("No saved places yet.");
+        } else {
+            fireTableRowsDeleted(row, row);
+        }
+    }
+
+    private void setRowCountAndRefetch(int count) {
+        reset();
+        if (count <= 0) {
+            message = "No saved places yet.";
+        } else {
+            rowCount = count;
+        }
+        fireTableDataChanged();
+    }
+
+    /**
+     * Replies to page requests made before a change may be out of date.
+     */
+    private void dropPendingPages() {
+        generation++;
+        pendingPages.clear();
+    }
+
+    private Object sortValue(DestinationSummary dest) {
+        switch (SORT_KEYS[sortColumn]) {
+            case "name":
+                return dest.getName();
+            case "location":
+                return dest.getLocation();
+            case "price":
+                return dest.getPriceValue();
+            default:
+                return dest.getPopularity();
+        }
+    }
+
+    /**
+     * Sorts by a column; choosing the sorted column again reverses the order.
+     */
+    public void sortBy(int column) {
+        if (column < 0 || column >= SORT_KEYS.length || message != null) {
+            return;
+        }
+        ascending = column != sortColumn || !ascending;
+        sortColumn = column;
+        generation++;
+        pages.clear();
+        pendingPages.clear();
+        fireTableDataChanged();
+    }
+
+    public int getSortColumn() {
+        return sortColumn;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * @return a row sorter that passes header clicks to sortBy and keeps rows in model order
+     */
+    public RowSorter<SavedPlacesTableModel> createSorter() {
+        return new DatabaseSorter();
+    }
+
+    /**
+     * @return the destination shown in a row, or null if the row is a message or not loaded yet
+     */
+    public DestinationSummary getDestinationAt(int row) {
+        if (message != null) {
+            return null;
+        }
+        List<DestinationSummary> page = pages.get(row / PAGE_SIZE);
+        int index = row % PAGE_SIZE;
+        return page != null && index < page.size() ? page.get(index) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return message != null ? 1 : rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (message != null) {
+            return column == 0 ? message : "";
+        }
+        DestinationSummary dest = getDestinationAt(row);
+        if (dest == null) {
+            requestPage(row / PAGE_SIZE);
+            return column == 0 ? "Loading..." : "";
+        }
+        switch (column) {
+            case 0:
+                return dest.getName();
+            case 1:
+                return dest.getLocation();
+            case 2:
+                return dest.getPrice();
+            default:
+                return String.format("%.1f", dest.getPopularity()); // Keep numbers as Arial
+        }
+    }
+
+    private void requestPage(int pageIndex) {
+        if (!pendingPages.add(pageIndex)) {
+            return;
+        }
+        int request = generation;
+        String sortBy = sortColumn >= 0 ? SORT_KEYS[sortColumn] : "saved";
+        CompletableFuture<List<DestinationSummary>> future = dbManager.getSavedDestinationsPage(
+                userId, sortBy, ascending, pageIndex * PAGE_SIZE, PAGE_SIZE);
+        AsyncDatabaseManager.onEdt(future,
+                page -> {
+                    if (request != generation) return;
+                    pendingPages.remove(pageIndex);
+                    if (page == null) return; // Logged by DatabaseManager; retried the next time the rows are painted
+                    pages.put(pageIndex, page);
+                    int first = pageIndex * PAGE_SIZE;
+                    if (page.size() < PAGE_SIZE && first + page.size() < rowCount) {
+                        // A short page is the end: the count was too high (e.g. a SAVED_CHANGED
+                        // event raced the count), and the missing rows would be requested forever
+                        int end = first + page.size();
+                        int oldCount = rowCount;
+                        rowCount = end;
+                        pages.keySet().removeIf(index -> index > pageIndex);
+                        if (rowCount == 0) {
+                            setMessage("No saved places yet.");
+                            return;
+                        }
+                        fireTableRowsDeleted(end, oldCount - 1);
+                    }
+                    int last = Math.min(first + PAGE_SIZE, rowCount) - 1;
+                    if (first <= last) {
+                        fireTableRowsUpdated(first, last);
+                    }
+                },
+                error -> {
+                    if (request != generation) return;
+                    pendingPages.remove(pageIndex);
+                    System.err.println("Error fetching saved destinations: " + error.getMessage());
+                });
+    }
+
+    /**
+     * Rows arrive already sorted, so view and model indexes are the same; the
+     * sorter only reports the sort key to the table header.
+     */
+    private class DatabaseSorter extends RowSorter<SavedPlacesTableModel> {
+
+        @Override
+        public SavedPlacesTableModel getModel() {
+            return SavedPlacesTableModel.this;
+        }
+
+        @Override
+        public void toggleSortOrder(int column) {
+            sortBy(column);
+            fireSortOrderChanged();
+        }
+
+        @Override
+        public int convertRowIndexToModel(int index) {
+            return index;
+        }
+
+        @Override
+        public int convertRowIndexToView(int index) {
+            return index;
+        }
+
+        @Override
+        public void setSortKeys(List<? extends SortKey> keys) {
+            // The order is only changed through toggleSortOrder
+        }
+
+        @Override
+        public List<? extends SortKey> getSortKeys() {
+            if (sortColumn < 0) {
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(
+                    new SortKey(sortColumn, ascending ? SortOrder.ASCENDING : SortOrder.DESCENDING));
+        }
+
+        @Override
+        public int getViewRowCount() {
+            return getRowCount();
+        }
+
+        @Override
+        public int getModelRowCount() {
+            return getRowCount();
+        }
+
+        @Override
+        public void modelStructureChanged() {
+        }
+
+        @Override
+        public void allRowsChanged() {
+        }
+
+        @Override
+        public void rowsInserted(int firstRow, int endRow) {
+        }
+
+        @Override
+        public void rowsDeleted(int firstRow, int endRow) {
+        }
+
+        @Override
+        public void rowsUpdated(int firstRow, int endRow) {
+        }
+
+        @Override
+        public void rowsUpdated(int firstRow, int endRow, int column) {
+        }
+    }
+
+    /**
+     * Drops all rows and pending pages.
+     * @return the new generation
+     */
+    private int reset() {
+        generation++;
+        pages.clear();
+        pendingPages.clear();
+        rowCount = 0;
+        message = null;
+        return generation;
+    }
+}
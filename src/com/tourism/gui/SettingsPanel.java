@@ -1,7 +1,10 @@
 package com.tourism.gui;
 
+import com.tourism.database.AsyncDatabaseManager;
 import com.tourism.user.UserService;
 import com.tourism.main.Main;
+import com.tourism.gui.components.CardFactory;
+import com.tourism.gui.components.Styles;
 import com.formdev.flatlaf.FlatDarkLaf;
 import com.formdev.flatlaf.FlatLightLaf;
 
@@ -14,15 +17,19 @@ import java.awt.*;
  * MODIFIED:
  * - Applied Samarkan font to text components.
  * - Set combo box background to white.
+ * - Admins also see a live DiagnosticsPanel.
+ * - Card style: standard cards, or lightweight painted cards for long result lists.
  */
 public class SettingsPanel extends JPanel {
 
     private MainFrame mainFrame;
     private UserService userService;
     private JComboBox<String> themeComboBox;
+    private JComboBox<String> cardStyleComboBox;
+    private DiagnosticsPanel diagnosticsPanel;
     private Image backgroundImage;
 
-    public SettingsPanel(MainFrame mainFrame, UserService userService) {
+    public SettingsPanel(MainFrame mainFrame, AsyncDatabaseManager dbManager, UserService userService) {
         this.mainFrame = mainFrame;
         this.userService = userService;
         this.backgroundImage = Main.loadBackgroundImage();
@@ -32,7 +39,7 @@ public class SettingsPanel extends JPanel {
 
         JLabel titleLabel = new JLabel("Settings");
         // --- MODIFICATION: Apply Samarkan font ---
-        titleLabel.setFont(new Font("Baskerville Old Face",Font.BOLD, 48));
+        titleLabel.setFont(Styles.baskerville(Font.BOLD, 48));
         // --- End of Modification ---
         titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
         titleLabel.setBorder(new EmptyBorder(0, 0, 30, 0));
@@ -45,7 +52,7 @@ public class SettingsPanel extends JPanel {
         gbc.anchor = GridBagConstraints.WEST;
 
         JLabel themeLabel = new JLabel("Application Theme:");
-        themeLabel.setFont(new Font("Baskerville Old Face",Font.PLAIN, 18));
+        themeLabel.setFont(Styles.baskerville(Font.PLAIN, 18));
         formPanel.add(themeLabel, gbc);
 
         gbc.gridx = 1;
@@ -53,13 +60,39 @@ public class SettingsPanel extends JPanel {
         String[] themes = {"Light", "Dark"};
         themeComboBox = new JComboBox<>(themes);
         themeComboBox.setSelectedItem(userService.getTheme());
-        themeComboBox.setFont(new Font("Arial", Font.PLAIN, 18)); // Keep Arial for combo box
+        themeComboBox.setFont(Styles.arial(Font.PLAIN, 18)); // Keep Arial for combo box
         // --- MODIFICATION: Set background to white ---
         themeComboBox.setBackground(Color.WHITE);
         // --- End of Modification ---
         themeComboBox.setPreferredSize(new Dimension(200, 40));
         formPanel.add(themeComboBox, gbc);
 
+        gbc.gridx = 0;
+        gbc.gridy = 1;
+        gbc.anchor = GridBagConstraints.WEST;
+        JLabel cardStyleLabel = new JLabel("Card Style:");
+        cardStyleLabel.setFont(Styles.baskerville(Font.PLAIN, 18));
+        formPanel.add(cardStyleLabel, gbc);
+
+        gbc.gridx = 1;
+        gbc.anchor = GridBagConstraints.EAST;
+        String[] cardStyles = {CardFactory.STANDARD_STYLE, CardFactory.LIGHTWEIGHT_STYLE};
+        cardStyleComboBox = new JComboBox<>(cardStyles);
+        cardStyleComboBox.setSelectedItem(userService.getCardStyle());
+        cardStyleComboBox.setFont(Styles.arial(Font.PLAIN, 18));
+        cardStyleComboBox.setBackground(Color.WHITE);
+        cardStyleComboBox.setPreferredSize(new Dimension(200, 40));
+        formPanel.add(cardStyleComboBox, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        gbc.gridwidth = 2;
+        gbc.anchor = GridBagConstraints.CENTER;
+        gbc.insets = new Insets(30, 10, 10, 10);
+        diagnosticsPanel = new DiagnosticsPanel(mainFrame, dbManager);
+        diagnosticsPanel.setVisible(false);
+        formPanel.add(diagnosticsPanel, gbc);
+
         add(formPanel, BorderLayout.CENTER);
 
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 0));
@@ -68,13 +101,13 @@ public class SettingsPanel extends JPanel {
         JButton saveButton = new JButton("Save & Apply");
         saveButton.setBackground(MainFrame.BUTTON_BG);
         saveButton.setForeground(MainFrame.BUTTON_FG);
-        saveButton.setFont(new Font("Baskerville Old Face",Font.BOLD, 18));
+        saveButton.setFont(Styles.baskerville(Font.BOLD, 18));
         saveButton.setPreferredSize(new Dimension(180, 50));
         saveButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
 
         JButton backButton = new JButton("Back");
         // --- MODIFICATION: Apply Samarkan font ---
-        backButton.setFont(new Font("Baskerville Old Face",Font.BOLD, 18));
+        backButton.setFont(Styles.baskerville(Font.BOLD, 18));
         // --- End of Modification ---
         backButton.setPreferredSize(new Dimension(150, 50));
         backButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
@@ -88,14 +121,24 @@ public class SettingsPanel extends JPanel {
         saveButton.addActionListener(e -> {
             String selectedTheme = (String) themeComboBox.getSelectedItem();
             userService.setTheme(selectedTheme);
+            userService.setCardStyle((String) cardStyleComboBox.getSelectedItem());
             mainFrame.updateTheme();
             JOptionPane.showMessageDialog(this,
-                    "Theme updated successfully!",
+                    "Settings updated successfully!",
                     "Success",
                     JOptionPane.INFORMATION_MESSAGE);
         });
     }
 
+    /**
+     * Updates the screen for the current user; diagnostics are for admins only.
+     */
+    public void refresh() {
+        themeComboBox.setSelectedItem(userService.getTheme());
+        cardStyleComboBox.setSelectedItem(userService.getCardStyle());
+        diagnosticsPanel.setVisible(userService.isAdmin());
+    }
+
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
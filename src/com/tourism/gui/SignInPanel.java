@@ -1,23 +1,27 @@
 package com.tourism.gui;
 
-import com.tourism.database.DatabaseManager;
+import com.tourism.database.AsyncDatabaseManager;
+import com.tourism.gui.components.BusyIndicator;
 import com.tourism.model.User;
 import com.tourism.user.UserService;
 import com.tourism.util.PasswordHashing;
+import com.tourism.gui.components.Styles;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
 import java.awt.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A sign-in panel for user authentication.
  * MODIFIED: Reverted to previous UI style (blue buttons, light gray bg).
+ * MODIFIED: The lookup and password check run in the background.
  */
 public class SignInPanel extends JPanel {
 
     private MainFrame mainFrame;
-    private DatabaseManager dbManager;
+    private AsyncDatabaseManager dbManager;
     private UserService userService;
 
     private JTextField usernameField;
@@ -28,7 +32,7 @@ public class SignInPanel extends JPanel {
     // private final Color BUTTON_BG = ...
     // private final Color BUTTON_FG = ...
 
-    public SignInPanel(MainFrame mainFrame, DatabaseManager dbManager, UserService userService) {
+    public SignInPanel(MainFrame mainFrame, AsyncDatabaseManager dbManager, UserService userService) {
         this.mainFrame = mainFrame;
         this.dbManager = dbManager;
         this.userService = userService;
@@ -53,7 +57,7 @@ public class SignInPanel extends JPanel {
         gbc.gridwidth = 2;
 
         JLabel titleLabel = new JLabel("Sign In");
-        titleLabel.setFont(new Font("Arial", Font.BOLD, 28));
+        titleLabel.setFont(Styles.arial(Font.BOLD, 28));
         titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
         loginBox.add(titleLabel, gbc);
 
@@ -110,7 +114,7 @@ public class SignInPanel extends JPanel {
      * MODIFICATION: Reverted to original blue button style.
      */
     private void styleButton(JButton button) {
-        button.setFont(new Font("Arial", Font.BOLD, 18));
+        button.setFont(Styles.arial(Font.BOLD, 18));
         button.setBackground(new Color(59, 130, 246)); // Blue
         button.setForeground(Color.WHITE);
         button.setFocusPainted(false);
@@ -128,26 +132,36 @@ public class SignInPanel extends JPanel {
             return;
         }
 
-        User user = dbManager.getUser(username);
-
-        if (user != null && PasswordHashing.checkPassword(password, user.getPasswordHash())) {
-            // SUCCESS
-            System.out.println("Login successful for user: " + user.getUsername() + " (Role: " + user.getRole() + ")");
-            errorLabel.setText(" ");
-            passwordField.setText("");
-
+        // BCrypt is deliberately slow and login loads the saved places, so keep both off the EDT
+        CompletableFuture<User> future = dbManager.submit(() -> {
+            User user = dbManager.getDatabaseManager().getUser(username);
+            if (user == null || !PasswordHashing.checkPassword(password, user.getPasswordHash())) {
+                return null;
+            }
             userService.login(user);
-
-            // Re-load theme in case user had a preference
-            mainFrame.updateTheme();
-
-            mainFrame.getDashboardPanel().loadDestinations("default");
-            mainFrame.showPanel("dashboard");
-        } else {
-            // FAILURE
-            System.out.println("Login failed for user: " + username);
-            errorLabel.setText("Invalid username or password.");
-        }
+            return user;
+        });
+
+        errorLabel.setText(" ");
+        BusyIndicator.track(this, future);
+        AsyncDatabaseManager.onEdt(future,
+                user -> {
+                    if (user != null) {
+                        // SUCCESS
+                        System.out.println("Login successful for user: " + user.getUsername() + " (Role: " + user.getRole() + ")");
+                        passwordField.setText("");
+
+                        // Re-load theme in case user had a preference
+                        mainFrame.updateTheme();
+
+                        mainFrame.showPanel("dashboard");
+                    } else {
+                        // FAILURE
+                        System.out.println("Login failed for user: " + username);
+                        errorLabel.setText("Invalid username or password.");
+                    }
+                },
+                error -> errorLabel.setText("Could not sign in: " + error.getMessage()));
     }
 }
 
@@ -1,22 +1,26 @@
 package com.tourism.gui;
 
-import com.tourism.database.DatabaseManager;
+import com.tourism.database.AsyncDatabaseManager;
+import com.tourism.gui.components.BusyIndicator;
 import com.tourism.user.UserService;
 import com.tourism.util.PasswordHashing;
+import com.tourism.gui.components.Styles;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
 import java.awt.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A sign-up panel for new user registration.
  * MODIFIED: Reverted to previous UI style (blue buttons, light gray bg).
+ * MODIFIED: The username check and account creation run in the background.
  */
 public class SignUpPanel extends JPanel {
 
     private MainFrame mainFrame;
-    private DatabaseManager dbManager;
+    private AsyncDatabaseManager dbManager;
     private UserService userService;
 
     private JTextField usernameField;
@@ -28,7 +32,7 @@ public class SignUpPanel extends JPanel {
     // private final Color BUTTON_BG = ...
     // private final Color BUTTON_FG = ...
 
-    public SignUpPanel(MainFrame mainFrame, DatabaseManager dbManager, UserService userService) {
+    public SignUpPanel(MainFrame mainFrame, AsyncDatabaseManager dbManager, UserService userService) {
         this.mainFrame = mainFrame;
         this.dbManager = dbManager;
         this.userService = userService;
@@ -53,7 +57,7 @@ public class SignUpPanel extends JPanel {
         gbc.gridwidth = 2;
 
         JLabel titleLabel = new JLabel("Create Account");
-        titleLabel.setFont(new Font("Arial", Font.BOLD, 28));
+        titleLabel.setFont(Styles.arial(Font.BOLD, 28));
         titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
         signUpBox.add(titleLabel, gbc);
 
@@ -112,7 +116,7 @@ public class SignUpPanel extends JPanel {
      * MODIFICATION: Reverted to original blue button style.
      */
     private void styleButton(JButton button) {
-        button.setFont(new Font("Arial", Font.BOLD, 18));
+        button.setFont(Styles.arial(Font.BOLD, 18));
         button.setBackground(new Color(59, 130, 246)); // Blue
         button.setForeground(Color.WHITE);
         button.setFocusPainted(false);
@@ -137,35 +141,45 @@ public class SignUpPanel extends JPanel {
             return;
         }
 
-        if (dbManager.getUser(username) != null) {
-            JOptionPane.showMessageDialog(this, "Username already taken.", "Error", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-
         String role = "user";
         if (adminCode.equals("ADMIN1S23")) { // Using the admin code from your previous file
             role = "admin";
         }
-
-        String hashedPassword = PasswordHashing.hashPassword(password);
-
-        try {
-            dbManager.createUser(username, hashedPassword, role);
-            JOptionPane.showMessageDialog(this,
-                    "Account created successfully! Please sign in.",
-                    "Success",
-                    JOptionPane.INFORMATION_MESSAGE);
-
-            usernameField.setText("");
-            passwordField.setText("");
-            confirmPasswordField.setText("");
-            adminCodeField.setText("");
-
-            mainFrame.showPanel("signIn");
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error creating account: " + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+        String chosenRole = role;
+
+        // Checked and created on the write thread, so two sign-ups can't race for a name
+        CompletableFuture<Boolean> future = dbManager.write(() -> {
+            if (dbManager.getDatabaseManager().getUser(username) != null) {
+                return false;
+            }
+            String hashedPassword = PasswordHashing.hashPassword(password);
+            dbManager.getDatabaseManager().createUser(username, hashedPassword, chosenRole);
+            return true;
+        });
+
+        BusyIndicator.track(this, future);
+        AsyncDatabaseManager.onEdt(future,
+                created -> {
+                    if (!created) {
+                        JOptionPane.showMessageDialog(this, "Username already taken.", "Error", JOptionPane.ERROR_MESSAGE);
+                        return;
+                    }
+                    JOptionPane.showMessageDialog(this,
+                            "Account created successfully! Please sign in.",
+                            "Success",
+                            JOptionPane.INFORMATION_MESSAGE);
+
+                    usernameField.setText("");
+                    passwordField.setText("");
+                    confirmPasswordField.setText("");
+                    adminCodeField.setText("");
+
+                    mainFrame.showPanel("signIn");
+                },
+                error -> {
+                    JOptionPane.showMessageDialog(this, "Error creating account: " + error.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+                    error.printStackTrace();
+                });
     }
 }
 
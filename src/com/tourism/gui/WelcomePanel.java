@@ -1,6 +1,7 @@
 package com.tourism.gui;
 
 import com.tourism.main.Main; // Import Main
+import com.tourism.gui.components.Styles;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -75,7 +76,7 @@ public class WelcomePanel extends JPanel {
     }
 
     private void styleButton(JButton button) {
-        button.setFont(new Font("Arial", Font.BOLD, 22));
+        button.setFont(Styles.arial(Font.BOLD, 22));
         button.setBackground(MainFrame.BUTTON_BG); // Brand color
         button.setForeground(MainFrame.BUTTON_FG); // Brand color
         button.setCursor(new Cursor(Cursor.HAND_CURSOR));
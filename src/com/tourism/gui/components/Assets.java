@@ -0,0 +1,247 @@
+package com.tourism.gui.components;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BaseMultiResolutionImage;
+import java.awt.image.BufferedImage;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared instances of the images bundled in resources/assets.
+ *
+ * Each asset is decoded once. Backgrounds are kept at full size, converted to
+ * the screen's compatible format so tiling them is a plain copy. Icons are kept
+ * only at the sizes asked for, pre-scaled, with an extra variant for every
+ * display scale above 1x (e.g. 32x32 beside 16x16 on a 200% screen) so they
+ * stay sharp on HiDPI screens; the full-size source is not kept. Review ratings
+ * are five pre-composed star strips (ratingIcon). Safe to use from any thread;
+ * preload() decodes everything the panels use up front. With
+ * -Dtourism.assets.log=true, Main prints how long that took and the memory kept.
+ */
+public final class Assets {
+
+    public static final String WALLPAPER = "wallpaper-bg.png";
+    public static final String WELCOME_BACKGROUND = "welcome-bg.png";
+    public static final String STAR = "star.png";
+    public static final String BACK_ARROW = "back-arrow.png";
+    public static final String TICK_MARK = "tick-mark.png";
+
+    public static final String LOG_PROPERTY = "tourism.assets.log";
+
+    /** The size of the star, back and saved icons. */
+    public static final int ICON_SIZE = 16;
+    public static final int MAX_RATING = 5;
+    // Space between the stars of a rating strip, as the review rows used to lay them out
+    private static final int RATING_STAR_GAP = 5;
+
+    private static final String ASSET_PATH = "/com/tourism/resources/assets/";
+
+    private static final Map<String, BufferedImage> IMAGES = new ConcurrentHashMap<>();
+    private static final Map<String, ImageIcon> ICONS = new ConcurrentHashMap<>();
+    private static final AtomicLong decodeNanos = new AtomicLong();
+
+    private Assets() {
+    }
+
+    /**
+     * Decodes the backgrounds and icons used by the panels.
+     */
+    public static void preload() {
+        image(WALLPAPER);
+        image(WELCOME_BACKGROUND);
+        icon(STAR, ICON_SIZE, ICON_SIZE);
+        icon(BACK_ARROW, ICON_SIZE, ICON_SIZE);
+        icon(TICK_MARK, ICON_SIZE, ICON_SIZE);
+    }
+
+    /**
+     * @return the shared full-size image, or null if the asset is missing
+     */
+    public static BufferedImage image(String name) {
+        BufferedImage image = IMAGES.get(name);
+        if (image == null) {
+            synchronized (IMAGES) {
+                image = IMAGES.get(name);
+                if (image == null) {
+                    image = decode(name);
+                    if (image == null) {
+                        return null;
+                    }
+                    image = toCompatible(image);
+                    IMAGES.put(name, image);
+                }
+            }
+        }
+        return image;
+    }
+
+    /**
+     * @return the shared icon of the asset at width x height (with HiDPI variants), or null if it is missing
+     */
+    public static ImageIcon icon(String name, int width, int height) {
+        String key = name + "@" + width + "x" + height;
+        ImageIcon icon = ICONS.get(key);
+        if (icon == null) {
+            synchronized (ICONS) {
+                icon = ICONS.get(key);
+                if (icon == null) {
+                    BufferedImage source = IMAGES.get(name); // Only backgrounds are kept at full size
+                    if (source == null) {
+                        source = decode(name);
+                    }
+                    if (source == null) {
+                        return null;
+                    }
+                    icon = new ImageIcon(scaledVariants(source, width, height));
+                    ICONS.put(key, icon);
+                }
+            }
+        }
+        return icon;
+    }
+
+    /**
+     * Returns a strip of 1 to 5 stars as one image, composed once per rating from
+     * the star icon's variants, so a review shows its rating without a label per star.
+     * @return the shared strip, or null if the star asset is missing or the rating is below 1
+     */
+    public static ImageIcon ratingIcon(int stars) {
+        if (stars < 1) {
+            return null;
+        }
+        int count = Math.min(stars, MAX_RATING);
+        String key = STAR + "#" + count;
+        ImageIcon strip = ICONS.get(key);
+        if (strip == null) {
+            ImageIcon star = icon(STAR, ICON_SIZE, ICON_SIZE);
+            if (star == null) {
+                return null;
+            }
+            synchronized (ICONS) {
+                strip = ICONS.get(key);
+                if (strip == null) {
+                    strip = new ImageIcon(composeStrip((BaseMultiResolutionImage) star.getImage(), count));
+                    ICONS.put(key, strip);
+                }
+            }
+        }
+        return strip;
+    }
+
+    private static Image composeStrip(BaseMultiResolutionImage star, int count) {
+        int width = count * ICON_SIZE + (count - 1) * RATING_STAR_GAP;
+        List<Image> variants = new ArrayList<>();
+        for (Image starVariant : star.getResolutionVariants()) {
+            double scale = starVariant.getWidth(null) / (double) ICON_SIZE;
+            BufferedImage strip = new BufferedImage((int) Math.ceil(width * scale), starVariant.getHeight(null),
+                    BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = strip.createGraphics();
+            for (int i = 0; i < count; i++) {
+                g.drawImage(starVariant, (int) Math.round(i * (ICON_SIZE + RATING_STAR_GAP) * scale), 0, null);
+            }
+            g.dispose();
+            variants.add(toCompatible(strip));
+        }
+        return new BaseMultiResolutionImage(variants.toArray(new Image[0]));
+    }
+
+    /**
+     * @return total time spent decoding assets, in milliseconds
+     */
+    public static double getDecodeMillis() {
+        return decodeNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * @return approximate memory held by the shared images and icons, in bytes
+     */
+    public static long getRetainedBytes() {
+        long pixels = 0;
+        for (BufferedImage image : IMAGES.values()) {
+            pixels += (long) image.getWidth() * image.getHeight();
+        }
+        for (ImageIcon icon : ICONS.values()) {
+            for (Image variant : ((BaseMultiResolutionImage) icon.getImage()).getResolutionVariants()) {
+                pixels += (long) variant.getWidth(null) * variant.getHeight(null);
+            }
+        }
+        return pixels * 4;
+    }
+
+    private static BufferedImage decode(String name) {
+        URL url = Assets.class.getResource(ASSET_PATH + name);
+        if (url == null) {
+            System.err.println("Could not find asset: " + name);
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            return ImageIO.read(url);
+        } catch (Exception e) {
+            System.err.println("Error loading asset " + name + ": " + e.getMessage());
+            return null;
+        } finally {
+            decodeNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private static Image scaledVariants(BufferedImage source, int width, int height) {
+        List<Image> variants = new ArrayList<>();
+        for (double scale : displayScales()) {
+            int w = (int) Math.ceil(width * scale);
+            int h = (int) Math.ceil(height * scale);
+            variants.add(toCompatible(ImageCache.scale(source, w, h)));
+        }
+        return new BaseMultiResolutionImage(variants.toArray(new Image[0]));
+    }
+
+    /**
+     * @return 1 and the scale of every screen, smallest first
+     */
+    private static TreeSet<Double> displayScales() {
+        TreeSet<Double> scales = new TreeSet<>();
+        scales.add(1.0);
+        if (!GraphicsEnvironment.isHeadless()) {
+            for (GraphicsDevice device : GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices()) {
+                AffineTransform transform = device.getDefaultConfiguration().getDefaultTransform();
+                scales.add(Math.max(1.0, transform.getScaleX()));
+            }
+        }
+        return scales;
+    }
+
+    /**
+     * Copies the image into the screen's native format, which Java2D can draw
+     * without converting each pixel (and may keep in video memory).
+     */
+    private static BufferedImage toCompatible(BufferedImage image) {
+        int transparency = image.getColorModel().getTransparency();
+        BufferedImage compatible;
+        if (GraphicsEnvironment.isHeadless()) {
+            int type = transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+            if (image.getType() == type) {
+                return image;
+            }
+            compatible = new BufferedImage(image.getWidth(), image.getHeight(), type);
+        } else {
+            GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            if (image.getColorModel().equals(config.getColorModel(transparency))) {
+                return image;
+            }
+            compatible = config.createCompatibleImage(image.getWidth(), image.getHeight(), transparency);
+        }
+        Graphics2D g = compatible.createGraphics();
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return compatible;
+    }
+}
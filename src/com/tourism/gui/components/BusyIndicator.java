@@ -0,0 +1,38 @@
+package com.tourism.gui.components;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Shows a wait cursor on a panel while background work started from it is running.
+ * Overlapping requests are counted, so the cursor only resets when the last one ends.
+ * Must be called on the Event Dispatch Thread.
+ */
+public class BusyIndicator {
+
+    private static final String PENDING_KEY = "BusyIndicator.pending";
+
+    private BusyIndicator() {
+    }
+
+    public static void track(JComponent component, CompletableFuture<?> future) {
+        adjust(component, 1);
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> adjust(component, -1)));
+    }
+
+    /**
+     * @return true while at least one tracked request of this component is running
+     */
+    public static boolean isBusy(JComponent component) {
+        Object pending = component.getClientProperty(PENDING_KEY);
+        return pending instanceof Integer && (Integer) pending > 0;
+    }
+
+    private static void adjust(JComponent component, int delta) {
+        Object current = component.getClientProperty(PENDING_KEY);
+        int pending = Math.max(0, (current instanceof Integer ? (Integer) current : 0) + delta);
+        component.putClientProperty(PENDING_KEY, pending);
+        component.setCursor(pending > 0 ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : null);
+    }
+}
@@ -1,50 +1,73 @@
 package com.tourism.gui.components;
 
+import com.tourism.gui.DestinationPrefetcher;
 import com.tourism.gui.MainFrame;
-import com.tourism.model.Destination;
+import com.tourism.model.DestinationSummary;
 import com.tourism.main.Main;
 
 import javax.swing.*;
-import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.io.File;
-import java.net.MalformedURLException;
-import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A factory class to create standardized destination "cards".
  * MODIFIED:
  * - Applied Samarkan font to text components (except numbers).
+ * - Images come from the shared ImageCache.
+ * - Hovering a card prefetches its detail view in the background.
+ * - Fonts, colors and borders are the shared Styles instances, and the "No Image"
+ *   placeholder is drawn once per size.
+ * - createCard can build a PaintedDestinationCard instead: one component that
+ *   paints the same card, for large result lists.
+ * - Cards remember their DestinationSummary (see getCardDestination), so a
+ *   listing can keep the cards of destinations that did not change.
+ * - The star icon is the shared Assets instance.
  */
 public class CardFactory {
 
-    public static ImageIcon starIcon;
-    static {
-        try {
-            URL imgUrl = CardFactory.class.getResource("/com/tourism/resources/assets/star.png");
-            if (imgUrl != null) {
-                starIcon = new ImageIcon(imgUrl);
-                Image img = starIcon.getImage().getScaledInstance(16, 16, Image.SCALE_SMOOTH);
-                starIcon = new ImageIcon(img);
-            }
-        } catch (Exception e) {
-            System.err.println("Could not load star icon: " + e.getMessage());
-            starIcon = null;
+    public static ImageIcon starIcon = Assets.icon(Assets.STAR, Assets.ICON_SIZE, Assets.ICON_SIZE);
+    private static final Map<Dimension, ImageIcon> PLACEHOLDERS = new ConcurrentHashMap<>();
+
+    /**
+     * Card styles, by the name shown in the settings screen.
+     */
+    public static final String STANDARD_STYLE = "Standard";
+    public static final String LIGHTWEIGHT_STYLE = "Lightweight";
+
+    private static final String DESTINATION_PROPERTY = "tourism.destination";
+
+    /**
+     * Creates a card in the given style.
+     * @param style LIGHTWEIGHT_STYLE for a PaintedDestinationCard, anything else for the standard panel
+     */
+    public static JComponent createCard(DestinationSummary dest, MainFrame mainFrame, String style) {
+        if (LIGHTWEIGHT_STYLE.equals(style)) {
+            return new PaintedDestinationCard(dest, mainFrame);
         }
+        return createDestinationCard(dest, mainFrame);
     }
 
+    /**
+     * @return the destination a card made by createCard in the given style shows,
+     *         or null if the component is not such a card
+     */
+    public static DestinationSummary getCardDestination(Component component, String style) {
+        if (!(component instanceof JComponent)
+                || (component instanceof PaintedDestinationCard) != LIGHTWEIGHT_STYLE.equals(style)) {
+            return null;
+        }
+        return (DestinationSummary) ((JComponent) component).getClientProperty(DESTINATION_PROPERTY);
+    }
 
-    public static JPanel createDestinationCard(Destination dest, MainFrame mainFrame) {
+    public static JPanel createDestinationCard(DestinationSummary dest, MainFrame mainFrame) {
         JPanel card = new JPanel();
         card.setLayout(new BorderLayout(10, 10));
         card.setPreferredSize(new Dimension(300, 320));
-        card.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(Color.LIGHT_GRAY, 1, true),
-                new EmptyBorder(10, 10, 10, 10)
-        ));
-        card.setBackground(Color.WHITE);
+        card.setBorder(Styles.CARD_BORDER);
+        card.setBackground(Styles.CARD_BACKGROUND);
         card.setCursor(new Cursor(Cursor.HAND_CURSOR));
 
         JLabel imageLabel = new JLabel();
@@ -56,34 +79,34 @@ public class CardFactory {
         card.add(imageLabel, BorderLayout.NORTH);
 
         JPanel infoPanel = new JPanel();
-        infoPanel.setBackground(Color.WHITE);
+        infoPanel.setBackground(Styles.CARD_BACKGROUND);
         infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
 
         JLabel nameLabel = new JLabel(dest.getName());
-        nameLabel.setFont(new Font(Main.SAMARKAN_FONT_NAME, Font.BOLD, 22));
+        nameLabel.setFont(Styles.font(Main.SAMARKAN_FONT_NAME, Font.BOLD, 22));
         infoPanel.add(nameLabel);
 
         JLabel locationLabel = new JLabel(dest.getLocation());
         // --- MODIFICATION: Apply Samarkan font ---
         locationLabel.setFont(MainFrame.getSamarkanFont(Font.PLAIN, 16));
         // --- End of Modification ---
-        locationLabel.setForeground(Color.DARK_GRAY);
+        locationLabel.setForeground(Styles.SECONDARY_TEXT);
         infoPanel.add(locationLabel);
 
         card.add(infoPanel, BorderLayout.CENTER);
 
         JPanel footerPanel = new JPanel(new BorderLayout());
-        footerPanel.setBackground(Color.WHITE);
+        footerPanel.setBackground(Styles.CARD_BACKGROUND);
 
         JLabel priceLabel = new JLabel("₹"+dest.getPrice());
         // --- MODIFICATION: Keep Arial for numbers/price ---
-        priceLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        priceLabel.setFont(Styles.arial(Font.BOLD, 14));
         // --- End of Modification ---
         footerPanel.add(priceLabel, BorderLayout.WEST);
 
         JLabel popLabel = new JLabel(String.format("%.1f", dest.getPopularity()));
         // --- MODIFICATION: Keep Arial for numbers/rating ---
-        popLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        popLabel.setFont(Styles.arial(Font.BOLD, 14));
         // --- End of Modification ---
         if (starIcon != null) {
             popLabel.setIcon(starIcon);
@@ -94,50 +117,73 @@ public class CardFactory {
 
         card.add(footerPanel, BorderLayout.SOUTH);
 
+        installCardBehaviour(card, dest, mainFrame);
+        return card;
+    }
+
+    /**
+     * Clicking the card opens the destination; resting the pointer on it prefetches the detail view.
+     */
+    static void installCardBehaviour(JComponent card, DestinationSummary dest, MainFrame mainFrame) {
+        card.putClientProperty(DESTINATION_PROPERTY, dest);
+
+        // Prefetch the detail view once the pointer has rested on the card for a moment
+        Timer hoverTimer = new Timer(DestinationPrefetcher.HOVER_DWELL_MS, e -> {
+            if (mainFrame != null) {
+                mainFrame.getPrefetcher().prefetch(dest);
+            }
+        });
+        hoverTimer.setRepeats(false);
+
         card.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
+                hoverTimer.stop();
                 mainFrame.showDetailPanel(dest);
             }
-        });
-
-        return card;
-    }
 
-    private static ImageIcon createScaledIcon(String path, int width, int height) {
-        try {
-            File f = new File(path);
-            if (f.exists()) {
-                URL url = f.toURI().toURL();
-                ImageIcon icon = new ImageIcon(url);
-                Image img = icon.getImage().getScaledInstance(width, height, Image.SCALE_SMOOTH);
-                return new ImageIcon(img);
+            @Override
+            public void mouseEntered(MouseEvent e) {
+                hoverTimer.restart();
             }
-        } catch (Exception e) {
-            // Not a file path, will try resource
-        }
 
-        try {
-            URL resourceUrl = CardFactory.class.getResource(path);
-            if (resourceUrl != null) {
-                ImageIcon icon = new ImageIcon(resourceUrl);
-                Image img = icon.getImage().getScaledInstance(width, height, Image.SCALE_SMOOTH);
-                return new ImageIcon(img);
+            @Override
+            public void mouseExited(MouseEvent e) {
+                // Moving onto a child label also fires "exited"; only react when leaving the card
+                if (card.contains(e.getPoint())) return;
+                hoverTimer.stop();
+                if (mainFrame != null) {
+                    mainFrame.getPrefetcher().cancel(dest.getId());
+                }
             }
-        } catch (Exception ex) {
-            // Both failed
-        }
+        });
+    }
 
-        return createPlaceholderIcon(width, height);
+    static ImageIcon createScaledIcon(String path, int width, int height) {
+        ImageIcon icon = ImageCache.getScaledIcon(path, width, height);
+        return icon != null ? icon : createPlaceholderIcon(width, height);
     }
 
+    /**
+     * @return the shared "No Image" placeholder of the given size
+     */
     public static ImageIcon createPlaceholderIcon(int width, int height) {
+        Dimension size = new Dimension(width, height);
+        ImageIcon icon = PLACEHOLDERS.get(size);
+        if (icon == null) {
+            icon = drawPlaceholderIcon(width, height);
+            PLACEHOLDERS.put(size, icon);
+        }
+        return icon;
+    }
+
+    private static ImageIcon drawPlaceholderIcon(int width, int height) {
         java.awt.image.BufferedImage img = new java.awt.image.BufferedImage(width, height, java.awt.image.BufferedImage.TYPE_INT_RGB);
         Graphics2D g = img.createGraphics();
         g.setColor(Color.LIGHT_GRAY);
         g.fillRect(0, 0, width, height);
         g.setColor(Color.DARK_GRAY);
-        g.setFont(new Font("Arial", Font.BOLD, 20));
+        g.setFont(Styles.arial(Font.BOLD, 20));
         FontMetrics fm = g.getFontMetrics();
         String text = "No Image";
         int x = (width - fm.stringWidth(text)) / 2;
@@ -0,0 +1,223 @@
+package com.tourism.gui.components;
+
+import com.tourism.util.jfr.ImageDecodeEvent;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shared, thread-safe cache of scaled destination images.
+ *
+ * Images are decoded and scaled once into a BufferedImage of the requested
+ * size, so painting a cached icon never rescales. Entries are keyed by path and
+ * size and evicted least-recently-used once the cache holds more pixels than
+ * its budget. Safe to fill from background threads (see DestinationPrefetcher).
+ * Every lookup is a com.tourism.ImageDecode JFR event. Uploads fill it ahead
+ * of time with prepare().
+ */
+public class ImageCache {
+
+    // Roughly 48 MB of 32-bit pixels
+    private static final long MAX_PIXELS = 12_000_000L;
+
+    private static final LinkedHashMap<String, ImageIcon> CACHE = new LinkedHashMap<>(64, 0.75f, true);
+    private static long cachedPixels = 0;
+    private static long hits = 0;
+    private static long misses = 0;
+
+    private ImageCache() {
+    }
+
+    /**
+     * Returns the image at the given file path or classpath resource, scaled to width x height.
+     * @return the scaled icon, or null if the image could not be found or decoded
+     */
+    public static ImageIcon getScaledIcon(String path, int width, int height) {
+        ImageDecodeEvent event = new ImageDecodeEvent();
+        event.begin();
+        String key = key(path, width, height);
+        synchronized (ImageCache.class) {
+            ImageIcon cached = CACHE.get(key);
+            if (cached != null) {
+                hits++;
+                commit(event, path, width, height, true, null);
+                return cached;
+            }
+            misses++;
+        }
+
+        // Decode outside the lock so slow files don't block other lookups
+        BufferedImage source = readImage(path);
+        if (source == null) {
+            commit(event, path, width, height, false, null);
+            return null;
+        }
+        ImageIcon icon = new ImageIcon(scale(source, width, height));
+
+        ImageIcon cached = put(key, icon);
+        commit(event, path, width, height, false, source);
+        return cached;
+    }
+
+    /**
+     * Decodes an image once and caches it at each of the given sizes, so the
+     * first card or thumbnail that shows it doesn't decode it again. Meant for
+     * background threads (see ImageUploadWorker).
+     * @return false if the file could not be decoded as an image
+     */
+    public static boolean prepare(String path, Dimension... sizes) {
+        BufferedImage source = readImage(path);
+        if (source == null) {
+            return false;
+        }
+        for (Dimension size : sizes) {
+            if (!contains(path, size.width, size.height)) {
+                put(key(path, size.width, size.height), new ImageIcon(scale(source, size.width, size.height)));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the cached icon, which is the given one unless another thread cached it first
+     */
+    private static synchronized ImageIcon put(String key, ImageIcon icon) {
+        ImageIcon raced = CACHE.get(key);
+        if (raced != null) {
+            return raced;
+        }
+        CACHE.put(key, icon);
+        cachedPixels += (long) icon.getIconWidth() * icon.getIconHeight();
+        evictIfNeeded();
+        return icon;
+    }
+
+    private static void commit(ImageDecodeEvent event, String path, int width, int height,
+                               boolean cacheHit, BufferedImage source) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = path;
+            event.width = width;
+            event.height = height;
+            event.cacheHit = cacheHit;
+            event.decoded = source != null;
+            if (source != null) {
+                event.sourceWidth = source.getWidth();
+                event.sourceHeight = source.getHeight();
+            }
+            event.commit();
+        }
+    }
+
+    /**
+     * @return true if the scaled image is already cached
+     */
+    public static synchronized boolean contains(String path, int width, int height) {
+        return CACHE.containsKey(key(path, width, height));
+    }
+
+    public static synchronized int size() {
+        return CACHE.size();
+    }
+
+    /**
+     * @return approximate memory held by the cached images, in bytes
+     */
+    public static synchronized long getCachedBytes() {
+        return cachedPixels * 4;
+    }
+
+    public static synchronized long getHits() {
+        return hits;
+    }
+
+    public static synchronized long getMisses() {
+        return misses;
+    }
+
+    private static String key(String path, int width, int height) {
+        return path + "@" + width + "x" + height;
+    }
+
+    private static void evictIfNeeded() {
+        Iterator<Map.Entry<String, ImageIcon>> it = CACHE.entrySet().iterator();
+        while (cachedPixels > MAX_PIXELS && it.hasNext()) {
+            ImageIcon evicted = it.next().getValue();
+            cachedPixels -= (long) evicted.getIconWidth() * evicted.getIconHeight();
+            it.remove();
+        }
+    }
+
+    private static BufferedImage readImage(String path) {
+        try {
+            File f = new File(path);
+            if (f.exists()) {
+                return decode(f.toURI().toURL());
+            }
+        } catch (Exception e) {
+            // Not a file path, will try resource
+        }
+
+        try {
+            URL resourceUrl = ImageCache.class.getResource(path);
+            if (resourceUrl != null) {
+                return decode(resourceUrl);
+            }
+        } catch (Exception ex) {
+            // Both failed
+        }
+        return null;
+    }
+
+    private static BufferedImage decode(URL url) {
+        try {
+            BufferedImage img = ImageIO.read(url);
+            if (img != null) {
+                return img;
+            }
+        } catch (Exception e) {
+            // ImageIO can't read some JPEG variants; fall back to the toolkit below
+        }
+        Image toolkitImage = new ImageIcon(url).getImage();
+        int w = toolkitImage.getWidth(null);
+        int h = toolkitImage.getHeight(null);
+        if (w <= 0 || h <= 0) {
+            return null;
+        }
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = img.createGraphics();
+        g.drawImage(toolkitImage, 0, 0, null);
+        g.dispose();
+        return img;
+    }
+
+    /**
+     * Scales in steps of at most one half, which keeps bilinear filtering close
+     * to the quality of Image.SCALE_SMOOTH at a fraction of the cost. Also used by Assets.
+     */
+    static BufferedImage scale(BufferedImage source, int width, int height) {
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            // Halve while still at least twice the target, then jump to the target size
+            w = (w / 2 >= width) ? w / 2 : width;
+            h = (h / 2 >= height) ? h / 2 : height;
+            BufferedImage step = new BufferedImage(w, h, type);
+            Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = step;
+        } while (w != width || h != height);
+        return current;
+    }
+}
@@ -0,0 +1,148 @@
+package com.tourism.gui.components;
+
+import com.tourism.gui.MainFrame;
+import com.tourism.main.Main;
+import com.tourism.model.DestinationSummary;
+
+import javax.swing.*;
+import javax.swing.plaf.basic.BasicGraphicsUtils;
+import java.awt.*;
+
+/**
+ * A destination card drawn by a single component.
+ *
+ * Looks and behaves like the card from CardFactory.createDestinationCard (image,
+ * name, location, price and rating; click to open, hover to prefetch), but has
+ * no child components, so building and laying out hundreds of them is cheap.
+ * The clipped strings and their positions are computed on the first paint and
+ * kept until the width changes.
+ */
+public class PaintedDestinationCard extends JComponent {
+
+    private static final int IMAGE_WIDTH = 280;
+    private static final int IMAGE_HEIGHT = 200;
+    private static final int GAP = 10;          // Same as the standard card's BorderLayout gaps
+    private static final int ICON_TEXT_GAP = 4; // JLabel default
+
+    private final DestinationSummary destination;
+    private final ImageIcon image;
+    private final String price;
+    private final String rating;
+
+    // Text layout for layoutWidth
+    private int layoutWidth = -1;
+    private String nameText;
+    private String locationText;
+    private int nameBaseline;
+    private int locationBaseline;
+    private int footerBaseline;
+    private int ratingTextX;
+    private int starX;
+    private int starY;
+
+    public PaintedDestinationCard(DestinationSummary destination, MainFrame mainFrame) {
+        this.destination = destination;
+        this.image = CardFactory.createScaledIcon(destination.getPrimaryImagePath(), IMAGE_WIDTH, IMAGE_HEIGHT);
+        this.price = "₹" + destination.getPrice();
+        this.rating = CardFactory.starIcon != null
+                ? String.format("%.1f", destination.getPopularity())
+                : String.format("⭐ %.1f", destination.getPopularity());
+
+        setOpaque(true);
+        setBackground(Styles.CARD_BACKGROUND);
+        setBorder(Styles.CARD_BORDER);
+        setPreferredSize(new Dimension(300, 320));
+        setCursor(new Cursor(Cursor.HAND_CURSOR));
+        CardFactory.installCardBehaviour(this, destination, mainFrame);
+    }
+
+    public DestinationSummary getDestination() {
+        return destination;
+    }
+
+    private static Font nameFont() {
+        return Styles.font(Main.SAMARKAN_FONT_NAME, Font.BOLD, 22);
+    }
+
+    private static Font locationFont() {
+        return MainFrame.getSamarkanFont(Font.PLAIN, 16);
+    }
+
+    private static Font numberFont() {
+        return Styles.arial(Font.BOLD, 14);
+    }
+
+    private void updateTextLayout() {
+        if (layoutWidth == getWidth()) {
+            return;
+        }
+        layoutWidth = getWidth();
+        Insets insets = getInsets();
+        int contentWidth = getWidth() - insets.left - insets.right;
+
+        FontMetrics nameMetrics = getFontMetrics(nameFont());
+        FontMetrics locationMetrics = getFontMetrics(locationFont());
+        FontMetrics numberMetrics = getFontMetrics(numberFont());
+
+        nameText = BasicGraphicsUtils.getClippedString(this, nameMetrics, destination.getName(), contentWidth);
+        locationText = BasicGraphicsUtils.getClippedString(this, locationMetrics, destination.getLocation(), contentWidth);
+        nameBaseline = insets.top + IMAGE_HEIGHT + GAP + nameMetrics.getAscent();
+        locationBaseline = nameBaseline + nameMetrics.getDescent() + locationMetrics.getAscent();
+
+        // Footer row: as tall as the star icon or the text, whichever is taller
+        Icon star = CardFactory.starIcon;
+        int textHeight = numberMetrics.getHeight();
+        int rowHeight = star != null ? Math.max(star.getIconHeight(), textHeight) : textHeight;
+        int rowTop = getHeight() - insets.bottom - rowHeight;
+        footerBaseline = rowTop + (rowHeight - textHeight) / 2 + numberMetrics.getAscent();
+
+        int ratingWidth = numberMetrics.stringWidth(rating);
+        ratingTextX = getWidth() - insets.right - ratingWidth;
+        if (star != null) {
+            starX = ratingTextX - ICON_TEXT_GAP - star.getIconWidth();
+            starY = rowTop + (rowHeight - star.getIconHeight()) / 2;
+        }
+    }
+
+    @Override
+    public void setBounds(int x, int y, int width, int height) {
+        if (height != getHeight()) {
+            layoutWidth = -1; // The footer is placed from the bottom edge
+        }
+        super.setBounds(x, y, width, height);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        updateTextLayout();
+        Graphics2D g2 = (Graphics2D) g;
+        Insets insets = getInsets();
+
+        g2.setColor(getBackground());
+        g2.fillRect(0, 0, getWidth(), getHeight());
+
+        if (image != null) {
+            int imageX = (getWidth() - image.getIconWidth()) / 2;
+            Shape clip = g2.getClip();
+            g2.clipRect(insets.left, insets.top, getWidth() - insets.left - insets.right, IMAGE_HEIGHT);
+            image.paintIcon(this, g2, imageX, insets.top + (IMAGE_HEIGHT - image.getIconHeight()) / 2);
+            g2.setClip(clip);
+        }
+
+        g2.setColor(UIManager.getColor("Label.foreground"));
+        g2.setFont(nameFont());
+        BasicGraphicsUtils.drawString(this, g2, nameText, insets.left, nameBaseline);
+
+        g2.setColor(Styles.SECONDARY_TEXT);
+        g2.setFont(locationFont());
+        BasicGraphicsUtils.drawString(this, g2, locationText, insets.left, locationBaseline);
+
+        g2.setColor(UIManager.getColor("Label.foreground"));
+        g2.setFont(numberFont());
+        BasicGraphicsUtils.drawString(this, g2, price, insets.left, footerBaseline);
+        if (CardFactory.starIcon != null) {
+            CardFactory.starIcon.paintIcon(this, g2, starX, starY);
+        }
+        BasicGraphicsUtils.drawString(this, g2, rating, ratingTextX, footerBaseline);
+    }
+}
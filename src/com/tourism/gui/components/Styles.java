@@ -0,0 +1,129 @@
+package com.tourism.gui.components;
+
+import com.tourism.main.Main;
+
+import javax.swing.*;
+import javax.swing.border.Border;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared fonts, colors and borders for all panels.
+ *
+ * Fonts are created once per family, style and size and then reused; Font
+ * and Border instances are immutable, so any number of components can share
+ * them. Building a card or a review therefore allocates no fonts or borders.
+ * Values that come from the look and feel are reloaded by refresh() when the
+ * theme changes. Must be used on the Event Dispatch Thread (or, in headless
+ * benchmarks, on a single thread).
+ */
+public final class Styles {
+
+    public static final String BASKERVILLE = "Baskerville Old Face";
+    public static final String ARIAL = "Arial";
+
+    private static final int MAX_CACHED_SIZE = 96;
+
+    // Family -> [style][size]; styles are PLAIN, BOLD, ITALIC, BOLD|ITALIC
+    private static final Map<String, Font[][]> FONTS = new HashMap<>();
+    private static Font[][] samarkanFonts = new Font[4][MAX_CACHED_SIZE + 1];
+
+    // --- Colors ---
+    public static final Color CARD_BACKGROUND = Color.WHITE;
+    public static final Color CARD_OUTLINE = Color.LIGHT_GRAY;
+    public static final Color SECONDARY_TEXT = Color.DARK_GRAY;
+
+    // --- Borders ---
+    public static final Border CARD_BORDER = BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(CARD_OUTLINE, 1, true),
+            new EmptyBorder(10, 10, 10, 10));
+    public static final Border REVIEW_BORDER = new EmptyBorder(10, 5, 10, 5);
+    public static final Border REVIEW_HEADER_BORDER = new EmptyBorder(0, 5, 0, 5);
+    public static final Border SIDEBAR_BUTTON_BORDER = new EmptyBorder(10, 20, 10, 20);
+    public static final Border SUGGESTION_BORDER = new EmptyBorder(6, 15, 6, 15);
+
+    // Built from the look and feel; see refresh()
+    private static Border inputBorder;
+
+    private Styles() {
+    }
+
+    /**
+     * @return the shared font of the given family, style and size
+     */
+    public static Font font(String family, int style, int size) {
+        if (!isCacheable(style, size)) {
+            return new Font(family, style, size);
+        }
+        Font[][] byStyle = FONTS.get(family);
+        if (byStyle == null) {
+            byStyle = new Font[4][MAX_CACHED_SIZE + 1];
+            FONTS.put(family, byStyle);
+        }
+        Font font = byStyle[style][size];
+        if (font == null) {
+            font = new Font(family, style, size);
+            byStyle[style][size] = font;
+        }
+        return font;
+    }
+
+    public static Font baskerville(int style, int size) {
+        return font(BASKERVILLE, style, size);
+    }
+
+    public static Font arial(int style, int size) {
+        return font(ARIAL, style, size);
+    }
+
+    /**
+     * The Samarkan title font registered at startup, or Serif if it could not be loaded.
+     */
+    public static Font samarkan(int style, float size) {
+        int whole = (int) size;
+        if (whole != size || !isCacheable(style, whole)) {
+            return createSamarkan(style, size);
+        }
+        Font font = samarkanFonts[style][whole];
+        if (font == null) {
+            font = createSamarkan(style, size);
+            samarkanFonts[style][whole] = font;
+        }
+        return font;
+    }
+
+    private static Font createSamarkan(int style, float size) {
+        if (Main.SAMARKAN_FONT != null) {
+            return Main.SAMARKAN_FONT.deriveFont(style, size);
+        }
+        return new Font("Serif", style, (int) size);
+    }
+
+    private static boolean isCacheable(int style, int size) {
+        return style >= 0 && style <= 3 && size >= 0 && size <= MAX_CACHED_SIZE;
+    }
+
+    /**
+     * Rounded outline plus padding for text inputs, in the theme's border color.
+     */
+    public static Border inputBorder() {
+        if (inputBorder == null) {
+            refresh();
+        }
+        return inputBorder;
+    }
+
+    /**
+     * Reloads the values that depend on the look and feel. Call after switching
+     * themes, before the panels are updated. Also drops the cached Samarkan fonts,
+     * in case they were requested before the font was registered.
+     */
+    public static void refresh() {
+        inputBorder = BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(UIManager.getColor("Component.borderColor"), 1, true),
+                new EmptyBorder(10, 15, 10, 15));
+        samarkanFonts = new Font[4][MAX_CACHED_SIZE + 1];
+    }
+}
@@ -0,0 +1,149 @@
+package com.tourism.gui.components;
+
+import com.tourism.search.Suggestion;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Autocomplete dropdown under a text field.
+ *
+ * The field keeps the keyboard focus: Up/Down move through the suggestions,
+ * Enter or a click accepts one and Escape closes the list. The popup closes
+ * when the field loses focus. Must be used on the Event Dispatch Thread.
+ */
+public class SuggestionPopup {
+
+    private final JTextField field;
+    private final Consumer<Suggestion> onAccept;
+    private final JPopupMenu popup = new JPopupMenu();
+    private final DefaultListModel<Suggestion> model = new DefaultListModel<>();
+    private final JList<Suggestion> list = new JList<>(model);
+
+    public SuggestionPopup(JTextField field, Consumer<Suggestion> onAccept) {
+        this.field = field;
+        this.onAccept = onAccept;
+
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setFocusable(false);
+        list.setCellRenderer(new SuggestionRenderer());
+        list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = list.locationToIndex(e.getPoint());
+                if (index >= 0) {
+                    accept(model.get(index));
+                }
+            }
+        });
+
+        popup.setFocusable(false);
+        popup.setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY));
+        popup.add(list);
+
+        field.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (!popup.isVisible()) return;
+                switch (e.getKeyCode()) {
+                    case KeyEvent.VK_DOWN:
+                        moveSelection(1);
+                        e.consume();
+                        break;
+                    case KeyEvent.VK_UP:
+                        moveSelection(-1);
+                        e.consume();
+                        break;
+                    case KeyEvent.VK_ENTER:
+                        if (list.getSelectedValue() != null) {
+                            accept(list.getSelectedValue());
+                            e.consume();
+                        }
+                        break;
+                    case KeyEvent.VK_ESCAPE:
+                        hide();
+                        e.consume();
+                        break;
+                    default:
+                        break;
+                }
+            }
+        });
+        field.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                hide();
+            }
+        });
+    }
+
+    /**
+     * Shows the suggestions under the field, or hides the popup if there are none.
+     */
+    public void show(List<Suggestion> suggestions) {
+        if (suggestions.isEmpty() || !field.isShowing()) {
+            hide();
+            return;
+        }
+        model.clear();
+        for (Suggestion suggestion : suggestions) {
+            model.addElement(suggestion);
+        }
+        list.clearSelection();
+        list.setVisibleRowCount(suggestions.size());
+        popup.setPopupSize(field.getWidth(), list.getPreferredScrollableViewportSize().height + 2);
+        if (popup.isVisible()) {
+            popup.pack();
+        } else {
+            popup.show(field, 0, field.getHeight());
+        }
+    }
+
+    public void hide() {
+        popup.setVisible(false);
+    }
+
+    public boolean isVisible() {
+        return popup.isVisible();
+    }
+
+    private void moveSelection(int delta) {
+        int size = model.getSize();
+        int index = list.getSelectedIndex() + delta;
+        if (index < 0) index = size - 1;
+        if (index >= size) index = 0;
+        list.setSelectedIndex(index);
+    }
+
+    private void accept(Suggestion suggestion) {
+        hide();
+        onAccept.accept(suggestion);
+    }
+
+    private static class SuggestionRenderer extends DefaultListCellRenderer {
+        @Override
+        public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+            Suggestion suggestion = (Suggestion) value;
+            setBorder(Styles.SUGGESTION_BORDER);
+            if (suggestion.getKind() == Suggestion.Kind.DESTINATION) {
+                setText(suggestion.getText() + "  —  " + suggestion.getDestination().getLocation());
+                setFont(Styles.baskerville(Font.PLAIN, 16));
+            } else {
+                int count = suggestion.getDestinationCount();
+                setText(suggestion.getText() + "  (" + count + (count == 1 ? " place)" : " places)"));
+                setFont(Styles.baskerville(Font.ITALIC, 16));
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.tourism.gui.components;
+
+import javax.swing.*;
+import java.awt.*;
+import java.beans.PropertyChangeListener;
+
+/**
+ * Progress bar, status line and Cancel button for a running SwingWorker.
+ * Follows the worker's "progress" and "status" properties and hides itself
+ * when the worker is done. A cancelled SwingWorker is done before its
+ * background work has stopped, so after a cancel the panel shows
+ * "Cancelling..." until the worker fires its "finished" property.
+ * Must be used on the EDT.
+ */
+public class UploadProgressPanel extends JPanel {
+
+    private final JLabel statusLabel;
+    private final JProgressBar progressBar;
+    private final JButton cancelButton;
+    private SwingWorker<?, ?> worker;
+    private PropertyChangeListener listener;
+
+    public UploadProgressPanel() {
+        super(new BorderLayout(5, 2));
+        setOpaque(false);
+
+        statusLabel = new JLabel(" ");
+        statusLabel.setFont(Styles.baskerville(Font.PLAIN, 14));
+        add(statusLabel, BorderLayout.NORTH);
+
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        add(progressBar, BorderLayout.CENTER);
+
+        cancelButton = new JButton("Cancel");
+        cancelButton.setFont(Styles.baskerville(Font.BOLD, 14));
+        cancelButton.addActionListener(e -> {
+            if (worker != null) {
+                cancelButton.setEnabled(false);
+                statusLabel.setText("Cancelling...");
+                worker.cancel(true);
+            }
+        });
+        add(cancelButton, BorderLayout.EAST);
+
+        setVisible(false);
+    }
+
+    /**
+     * Shows the progress of a worker until it is done. Call before executing it.
+     */
+    public void track(SwingWorker<?, ?> newWorker) {
+        if (worker != null) {
+            worker.removePropertyChangeListener(listener);
+        }
+        worker = newWorker;
+        listener = e -> {
+            switch (e.getPropertyName()) {
+                case "progress":
+                    progressBar.setValue((Integer) e.getNewValue());
+                    break;
+                case "status":
+                    if (cancelButton.isEnabled()) {
+                        statusLabel.setText("Uploading " + e.getNewValue());
+                    }
+                    break;
+                case "state":
+                    if (e.getNewValue() == SwingWorker.StateValue.DONE && !newWorker.isCancelled()) {
+                        stopTracking(newWorker);
+                    }
+                    break;
+                case "finished":
+                    stopTracking(newWorker);
+                    break;
+                default:
+                    break;
+            }
+        };
+        worker.addPropertyChangeListener(listener);
+        progressBar.setValue(0);
+        statusLabel.setText("Starting upload...");
+        cancelButton.setEnabled(true);
+        setVisible(true);
+        revalidate();
+    }
+
+    private void stopTracking(SwingWorker<?, ?> finished) {
+        if (worker == finished) {
+            worker.removePropertyChangeListener(listener);
+            worker = null;
+            setVisible(false);
+        }
+    }
+
+    /**
+     * @return true while a tracked worker is running
+     */
+    public boolean isActive() {
+        return worker != null;
+    }
+}
@@ -5,14 +5,33 @@ import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Insets;
+import java.awt.LayoutManager2;
 
 /**
  * A custom layout manager that extends FlowLayout.
  * This layout manager makes components "wrap" to the next line
  * when they hit the width of the container, which is perfect
  * for our destination cards panel inside a JScrollPane.
+ * MODIFIED:
+ * - Child sizes are measured once per invalidation instead of on every
+ *   preferredLayoutSize, minimumLayoutSize and layoutContainer call. Swing calls
+ *   invalidateLayout whenever children are added or removed or change size;
+ *   an invalidation caused only by resizing the container keeps them. Children
+ *   that change while the container is already invalid don't reach
+ *   invalidateLayout, so until the container is valid again, the cache is
+ *   checked against the children that are invalid.
+ * - When every visible child has the same size (dashboard cards are all 300x320)
+ *   the rows are computed arithmetically, so resizing the window measures no
+ *   child and costs only the setBounds calls for the layout.
+ * - The last computed size is cached per container width.
  */
-public class WrapLayout extends FlowLayout {
+public class WrapLayout extends FlowLayout implements LayoutManager2 {
+
+    // Sizes measured since the last invalidateLayout, for measuredTarget only
+    private transient Container measuredTarget;
+    private transient Dimension measuredTargetSize;
+    private transient Measurement preferredSizes;
+    private transient Measurement minimumSizes;
 
     /**
      * Constructs a new WrapLayout.
@@ -61,6 +80,64 @@ public class WrapLayout extends FlowLayout {
         return min;
     }
 
+    /**
+     * Lays out the container like FlowLayout. Uniform children are placed by
+     * row and column arithmetic without asking each one for its size.
+     * @param target the container
+     */
+    @Override
+    public void layoutContainer(Container target) {
+        synchronized (target.getTreeLock()) {
+            Measurement sizes = getAlignOnBaseline() ? null : measure(target, true);
+            if (sizes == null || sizes.uniform == null || sizes.visibleCount == 0
+                    || sizes.uniform.width + getHgap() <= 0) {
+                super.layoutContainer(target);
+                return;
+            }
+
+            int hgap = getHgap();
+            int vgap = getVgap();
+            int w = sizes.uniform.width;
+            int h = sizes.uniform.height;
+            Insets insets = target.getInsets();
+            int maxWidth = target.getWidth() - (insets.left + insets.right + hgap * 2);
+            boolean ltr = target.getComponentOrientation().isLeftToRight();
+
+            // FlowLayout starts a new row unless x + width <= maxWidth, before adding the gap
+            int perRow = (int) Math.max(1, ((long) maxWidth + 2L * hgap) / (w + hgap));
+            int lastRow = (sizes.visibleCount - 1) / perRow;
+
+            int visibleIndex = 0;
+            int nmembers = target.getComponentCount();
+            for (int i = 0; i < nmembers; i++) {
+                Component m = target.getComponent(i);
+                if (!m.isVisible()) {
+                    continue;
+                }
+                int row = visibleIndex / perRow;
+                int column = visibleIndex % perRow;
+                visibleIndex++;
+
+                int inRow = row == lastRow ? sizes.visibleCount - row * perRow : perRow;
+                int leftover = maxWidth - (inRow * w + (inRow - 1) * hgap);
+                int x = insets.left + hgap + alignmentOffset(leftover, ltr) + column * (w + hgap);
+                int y = insets.top + vgap + row * (h + vgap);
+                m.setBounds(ltr ? x : target.getWidth() - x - w, y, w, h);
+            }
+        }
+    }
+
+    private int alignmentOffset(int leftover, boolean ltr) {
+        switch (getAlignment()) {
+            case LEFT:     return ltr ? 0 : leftover;
+            case CENTER:   return leftover / 2;
+            case RIGHT:    return ltr ? leftover : 0;
+            case TRAILING: return leftover;
+            case LEADING:
+            default:       return 0;
+        }
+    }
+
     /**
      * Calculates the dimensions for the layout.
      * @param target the container
@@ -75,6 +152,11 @@ public class WrapLayout extends FlowLayout {
                 targetWidth = Integer.MAX_VALUE;
             }
 
+            Measurement sizes = measure(target, preferred);
+            if (sizes.cachedSize != null && sizes.cachedWidth == targetWidth) {
+                return new Dimension(sizes.cachedSize);
+            }
+
             int hgap = getHgap();
             int vgap = getVgap();
             Insets insets = target.getInsets();
@@ -83,19 +165,28 @@ public class WrapLayout extends FlowLayout {
 
             // Internal dimensions
             Dimension dim = new Dimension(0, 0);
-            int rowWidth = 0;
-            int rowHeight = 0;
-
-            int nmembers = target.getComponentCount();
 
-            for (int i = 0; i < nmembers; i++) {
-                Component m = target.getComponent(i);
+            if (sizes.uniform != null) {
+                // Same rows as the loop below, without visiting each child
+                int w = sizes.uniform.width;
+                int n = sizes.visibleCount;
+                if (n == 0) {
+                    dim.height = vgap;
+                } else {
+                    int perRow = w + hgap <= 0 ? n : (int) Math.max(1, ((long) maxWidth - w) / (w + hgap) + 1);
+                    int rows = (n + perRow - 1) / perRow;
+                    dim.width = Math.min(n, perRow) * (w + hgap);
+                    dim.height = rows * (sizes.uniform.height + vgap);
+                }
+            } else {
+                int rowWidth = 0;
+                int rowHeight = 0;
 
-                if (m.isVisible()) {
-                    Dimension d = preferred ? m.getPreferredSize() : m.getMinimumSize();
+                for (int i = 0; i < sizes.visibleCount; i++) {
+                    int width = sizes.widths[i];
 
                     // Check if component fits in the current row
-                    if (rowWidth + d.width > maxWidth && rowWidth > 0) {
+                    if (rowWidth + width > maxWidth && rowWidth > 0) {
                         // Doesn't fit, start a new row
                         dim.width = Math.max(dim.width, rowWidth);
                         dim.height += rowHeight + vgap;
@@ -104,20 +195,176 @@ public class WrapLayout extends FlowLayout {
                     }
 
                     // Add component to the current row
-                    rowWidth += d.width + hgap;
-                    rowHeight = Math.max(rowHeight, d.height);
+                    rowWidth += width + hgap;
+                    rowHeight = Math.max(rowHeight, sizes.heights[i]);
                 }
-            }
 
-            // Add the last row's dimensions
-            dim.width = Math.max(dim.width, rowWidth);
-            dim.height += rowHeight + vgap;
+                // Add the last row's dimensions
+                dim.width = Math.max(dim.width, rowWidth);
+                dim.height += rowHeight + vgap;
+            }
 
             // Add insets
             dim.width += horizontalInsetsAndGaps;
             dim.height += insets.top + insets.bottom + vgap;
 
+            sizes.cachedWidth = targetWidth;
+            sizes.cachedSize = new Dimension(dim);
             return dim;
         }
     }
-}
\ No newline at end of file
+
+    // --- Size cache ---
+
+    /**
+     * The preferred or minimum sizes of the visible children, and the last size computed from them.
+     */
+    private static final class Measurement {
+        final int componentCount;
+        final int visibleCount;
+        final Dimension uniform; // Set when all visible children have this size
+        final int[] widths;      // Otherwise one entry per visible child
+        final int[] heights;
+        int cachedWidth;
+        Dimension cachedSize;
+
+        Measurement(int componentCount, int visibleCount, Dimension uniform, int[] widths, int[] heights) {
+            this.componentCount = componentCount;
+            this.visibleCount = visibleCount;
+            this.uniform = uniform;
+            this.widths = widths;
+            this.heights = heights;
+        }
+    }
+
+    /**
+     * Returns the cached child sizes, measuring them if they were invalidated.
+     * Must be called with the tree lock held.
+     */
+    private Measurement measure(Container target, boolean preferred) {
+        if (measuredTarget != target) {
+            preferredSizes = null;
+            minimumSizes = null;
+            measuredTarget = target;
+        }
+        measuredTargetSize = target.getSize();
+        Measurement sizes = preferred ? preferredSizes : minimumSizes;
+        int nmembers = target.getComponentCount();
+        if (sizes != null && sizes.componentCount == nmembers
+                && (target.isValid() || invalidChildrenMatch(target, sizes, preferred))) {
+            return sizes;
+        }
+
+        int[] widths = new int[nmembers];
+        int[] heights = new int[nmembers];
+        int visible = 0;
+        boolean uniform = true;
+        for (int i = 0; i < nmembers; i++) {
+            Component m = target.getComponent(i);
+            if (m.isVisible()) {
+                Dimension d = preferred ? m.getPreferredSize() : m.getMinimumSize();
+                widths[visible] = d.width;
+                heights[visible] = d.height;
+                uniform &= d.width == widths[0] && d.height == heights[0];
+                visible++;
+            }
+        }
+        if (uniform) {
+            Dimension size = visible == 0 ? new Dimension(0, 0) : new Dimension(widths[0], heights[0]);
+            sizes = new Measurement(nmembers, visible, size, null, null);
+        } else {
+            sizes = new Measurement(nmembers, visible, null, widths, heights);
+        }
+
+        if (preferred) {
+            preferredSizes = sizes;
+        } else {
+            minimumSizes = sizes;
+        }
+        return sizes;
+    }
+
+    /**
+     * While the container is invalid, a child can change (and invalidate itself)
+     * without the container calling invalidateLayout. Valid children are as they
+     * were measured, so only the invalid ones are measured again.
+     * @return true if the cached sizes still hold
+     */
+    private static boolean invalidChildrenMatch(Container target, Measurement sizes, boolean preferred) {
+        int visible = 0;
+        for (int i = 0; i < sizes.componentCount; i++) {
+            Component m = target.getComponent(i);
+            if (!m.isVisible()) {
+                continue;
+            }
+            if (visible >= sizes.visibleCount) {
+                return false;
+            }
+            if (!m.isValid()) {
+                Dimension d = preferred ? m.getPreferredSize() : m.getMinimumSize();
+                int width = sizes.uniform != null ? sizes.uniform.width : sizes.widths[visible];
+                int height = sizes.uniform != null ? sizes.uniform.height : sizes.heights[visible];
+                if (d.width != width || d.height != height) {
+                    return false;
+                }
+            }
+            visible++;
+        }
+        return visible == sizes.visibleCount;
+    }
+
+    /**
+     * Drops the cached sizes. Called by Container.invalidate, so any structural or
+     * size change of the children is picked up on the next layout. Resizing the
+     * container also invalidates it; the children are unchanged then, so the
+     * sizes are kept and only the rows are recomputed.
+     */
+    @Override
+    public void invalidateLayout(Container target) {
+        if (target == measuredTarget && measuredTargetSize != null && !measuredTargetSize.equals(target.getSize())) {
+            measuredTargetSize = target.getSize();
+            return;
+        }
+        preferredSizes = null;
+        minimumSizes = null;
+    }
+
+    @Override
+    public void setHgap(int hgap) {
+        super.setHgap(hgap);
+        clearCachedSizes();
+    }
+
+    @Override
+    public void setVgap(int vgap) {
+        super.setVgap(vgap);
+        clearCachedSizes();
+    }
+
+    private void clearCachedSizes() {
+        if (preferredSizes != null) preferredSizes.cachedSize = null;
+        if (minimumSizes != null) minimumSizes.cachedSize = null;
+    }
+
+    // --- LayoutManager2 ---
+
+    @Override
+    public void addLayoutComponent(Component comp, Object constraints) {
+        // No constraints; Container.invalidate already clears the cache
+    }
+
+    @Override
+    public Dimension maximumLayoutSize(Container target) {
+        return new Dimension(Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public float getLayoutAlignmentX(Container target) {
+        return 0.5f;
+    }
+
+    @Override
+    public float getLayoutAlignmentY(Container target) {
+        return 0.5f;
+    }
+}
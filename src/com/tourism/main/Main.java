@@ -1,14 +1,17 @@
 package com.tourism.main;
 
 import com.tourism.database.DatabaseManager;
+import com.tourism.database.FileCleanupQueue;
 import com.tourism.gui.MainFrame;
+import com.tourism.gui.components.Assets;
 import com.tourism.user.UserService;
+import com.tourism.util.EdtWatchdog;
+import com.tourism.util.jfr.FlightRecording;
 import com.formdev.flatlaf.FlatLightLaf;
 
 import javax.swing.*;
 import java.awt.*;
 import java.io.InputStream;
-import java.net.URL; // Import URL
 
 /**
  * Main class to run the Tourism Guide application.
@@ -16,6 +19,11 @@ import java.net.URL; // Import URL
  * - Registers custom font from correct asset path.
  * - Stores font name for global use.
  * - Loads correct background image file (.jpg).
+ * - Starts the EDT watchdog when -Dtourism.edtWatchdog=true is set.
+ * - Starts a flight recording with the bundled JFR settings when -Dtourism.jfr=FILE is set.
+ * - Starts the FileCleanupQueue that removes the files of deleted images.
+ * - Decodes the bundled images once, up front, through Assets; the time and memory
+ *   it took are printed when -Dtourism.assets.log=true is set.
  */
 public class Main {
 
@@ -35,9 +43,18 @@ public class Main {
         registerCustomFont();
         // --- End of Modification ---
 
+        EdtWatchdog.installIfEnabled();
+        FlightRecording.startIfEnabled();
+
+        Assets.preload();
+        if (Boolean.getBoolean(Assets.LOG_PROPERTY)) {
+            System.out.printf("Loaded assets in %.1f ms (%d KB)%n", Assets.getDecodeMillis(), Assets.getRetainedBytes() / 1024);
+        }
+
         SwingUtilities.invokeLater(() -> {
             DatabaseManager dbManager = new DatabaseManager();
-            UserService userService = new UserService();
+            new FileCleanupQueue(dbManager, DatabaseManager.IMAGE_DIR).start();
+            UserService userService = new UserService(dbManager);
             MainFrame frame = new MainFrame(dbManager, userService);
             frame.setVisible(true);
         });
@@ -76,39 +93,23 @@ public class Main {
     /**
      * MODIFIED: Helper to load the background image.
      * Fixed .png to .jpg
+     * Returns the shared instance from Assets; every panel gets the same image.
      */
     public static Image loadBackgroundImage() {
-        try {
-            // --- MODIFICATION: Updated to .jpg ---
-            URL imgUrl = Main.class.getResource("/com/tourism/resources/assets/wallpaper-bg.png");
-            // --- End of Modification ---
-
-            if (imgUrl != null) {
-                return new ImageIcon(imgUrl).getImage();
-            } else {
-                System.err.println("Could not find background image: wallpaper-bg.png");
-                return null;
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading background image: " + e.getMessage());
-            return null;
+        Image image = Assets.image(Assets.WALLPAPER);
+        if (image == null) {
+            System.err.println("Could not find background image: wallpaper-bg.png");
         }
+        return image;
     }
 
     public static Image loadBackgroundImage2() {
-        try {
-            // This image is for the WelcomePanel
-            URL imgUrl = Main.class.getResource("/com/tourism/resources/assets/welcome-bg.png");
-            if (imgUrl != null) {
-                return new ImageIcon(imgUrl).getImage();
-            } else {
-                System.err.println("Could not find background image: welcome-bg.png");
-                return null;
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading background image: " + e.getMessage());
-            return null;
+        // This image is for the WelcomePanel
+        Image image = Assets.image(Assets.WELCOME_BACKGROUND);
+        if (image == null) {
+            System.err.println("Could not find background image: welcome-bg.png");
         }
+        return image;
     }
 }
 
@@ -0,0 +1,44 @@
+package com.tourism.model;
+
+/**
+ * Immutable, lightweight projection of a destination used by listings
+ * (dashboard cards, search results, saved places table).
+ * It carries only what a card or table row displays; the long text fields
+ * live in the full Destination record, which is loaded on demand.
+ */
+public final class DestinationSummary {
+
+    private final int id;
+    private final String name;
+    private final String location;
+    private final String price;       // As entered by the admin, e.g. "9,000"
+    private final double priceValue;  // Numeric value of price, used for sorting
+    private final double popularity;
+    private final String primaryImagePath;
+
+    public DestinationSummary(int id, String name, String location, String price,
+                              double priceValue, double popularity, String primaryImagePath) {
+        this.id = id;
+        this.name = name;
+        this.location = location;
+        this.price = price;
+        this.priceValue = priceValue;
+        this.popularity = popularity;
+        this.primaryImagePath = primaryImagePath;
+    }
+
+    // --- Getters ---
+    public int getId() { return id; }
+    public String getName() { return name; }
+    public String getLocation() { return location; }
+    public String getPrice() { return price; }
+    public double getPriceValue() { return priceValue; }
+    public double getPopularity() { return popularity; }
+
+    public String getPrimaryImagePath() {
+        if (primaryImagePath == null || primaryImagePath.isEmpty()) {
+            return "/com/tourism/resources/assets/placeholder.jpg";
+        }
+        return primaryImagePath;
+    }
+}
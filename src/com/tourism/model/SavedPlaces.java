@@ -0,0 +1,29 @@
+package com.tourism.model;
+
+import java.util.BitSet;
+
+/**
+ * The set of destination ids a single user has saved.
+ * Backed by a BitSet indexed by destination id, so membership checks are O(1)
+ * and a user with hundreds of saved places costs a few hundred bytes.
+ */
+public class SavedPlaces {
+
+    private final BitSet ids = new BitSet();
+
+    public synchronized boolean contains(int destinationId) {
+        return destinationId >= 0 && ids.get(destinationId);
+    }
+
+    public synchronized void add(int destinationId) {
+        if (destinationId >= 0) {
+            ids.set(destinationId);
+        }
+    }
+
+    public synchronized void remove(int destinationId) {
+        if (destinationId >= 0) {
+            ids.clear(destinationId);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.tourism.search;
+
+import com.tourism.model.DestinationSummary;
+
+import java.util.Objects;
+
+/**
+ * Dashboard filter: a price range, a minimum rating and a location. Immutable;
+ * the with* methods return a changed copy.
+ */
+public final class DestinationFilter {
+
+    public static final DestinationFilter NONE =
+            new DestinationFilter(0, Double.POSITIVE_INFINITY, 0, null);
+
+    private final double minPrice;
+    private final double maxPrice;
+    private final double minPopularity;
+    private final String location;
+
+    private DestinationFilter(double minPrice, double maxPrice, double minPopularity, String location) {
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.minPopularity = minPopularity;
+        this.location = location;
+    }
+
+    /**
+     * @param maxPrice exclusive; Double.POSITIVE_INFINITY for no upper bound
+     */
+    public DestinationFilter withPrice(double minPrice, double maxPrice) {
+        return new DestinationFilter(minPrice, maxPrice, minPopularity, location);
+    }
+
+    public DestinationFilter withMinPopularity(double minPopularity) {
+        return new DestinationFilter(minPrice, maxPrice, minPopularity, location);
+    }
+
+    /**
+     * @param location exact location, or null for any
+     */
+    public DestinationFilter withLocation(String location) {
+        return new DestinationFilter(minPrice, maxPrice, minPopularity, location);
+    }
+
+    public double getMinPrice() { return minPrice; }
+    public double getMaxPrice() { return maxPrice; }
+    public double getMinPopularity() { return minPopularity; }
+    public String getLocation() { return location; }
+
+    public boolean hasPriceRange() {
+        return minPrice > 0 || maxPrice != Double.POSITIVE_INFINITY;
+    }
+
+    public boolean isEmpty() {
+        return !hasPriceRange() && minPopularity <= 0 && location == null;
+    }
+
+    public boolean matchesPrice(double price) {
+        return price >= minPrice && price < maxPrice;
+    }
+
+    public boolean matches(DestinationSummary dest) {
+        return matchesPrice(dest.getPriceValue())
+                && dest.getPopularity() >= minPopularity
+                && (location == null || location.equals(dest.getLocation()));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DestinationFilter)) return false;
+        DestinationFilter other = (DestinationFilter) o;
+        return minPrice == other.minPrice && maxPrice == other.maxPrice
+                && minPopularity == other.minPopularity && Objects.equals(location, other.location);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(minPrice, maxPrice, minPopularity, location);
+    }
+
+    @Override
+    public String toString() {
+        return "price=[" + minPrice + "," + maxPrice + ") rating>=" + minPopularity + " location=" + location;
+    }
+}
@@ -0,0 +1,180 @@
+package com.tourism.search;
+
+import com.tourism.model.DestinationSummary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented copy of the catalog for filtering and facet counts.
+ *
+ * Price, rating and location are held in primitive arrays (locations as codes
+ * into a dictionary), and each sort order is an int permutation over them. A
+ * filter is one pass over the requested order: it tests the columns, collects
+ * the matching rows and counts every facet at the same time. Immutable; the
+ * catalog builds a new one when its snapshots change.
+ */
+public class FacetIndex {
+
+    /**
+     * Price buckets: bucket i holds prices from PRICE_BUCKET_BOUNDS[i][0] up to
+     * (excluding) PRICE_BUCKET_BOUNDS[i][1].
+     */
+    public static final double[][] PRICE_BUCKET_BOUNDS = {
+            {0, 5000}, {5000, 10000}, {10000, 20000}, {20000, 50000}, {50000, Double.POSITIVE_INFINITY}
+    };
+
+    /**
+     * Minimum ratings offered by the rating facet.
+     */
+    public static final double[] RATING_THRESHOLDS = {4.5, 4, 3, 2};
+
+    private final DestinationSummary[] rows;
+    private final double[] prices;
+    private final byte[] priceBuckets;
+    private final double[] popularity;
+    private final int[] locationCodes;
+    private final String[] locationNames;
+    private final Map<String, Integer> locationCodeByName = new HashMap<>();
+
+    private final int[] byDefault;
+    private final int[] byPopularity;
+    private final int[] byPrice;
+    private final int[] byName;
+
+    /**
+     * @param byDefault all destinations in id order; the other lists hold the same
+     *                  instances in their sort order
+     */
+    public FacetIndex(List<DestinationSummary> byDefault, List<DestinationSummary> byPopularity,
+                      List<DestinationSummary> byPrice, List<DestinationSummary> byName) {
+        int n = byDefault.size();
+        rows = byDefault.toArray(new DestinationSummary[0]);
+        prices = new double[n];
+        priceBuckets = new byte[n];
+        popularity = new double[n];
+        locationCodes = new int[n];
+        List<String> names = new ArrayList<>();
+        Map<DestinationSummary, Integer> positions = new IdentityHashMap<>(n * 2);
+
+        for (int i = 0; i < n; i++) {
+            DestinationSummary dest = rows[i];
+            positions.put(dest, i);
+            prices[i] = dest.getPriceValue();
+            priceBuckets[i] = (byte) priceBucketOf(prices[i]);
+            popularity[i] = dest.getPopularity();
+            Integer code = locationCodeByName.get(dest.getLocation());
+            if (code == null) {
+                code = names.size();
+                names.add(dest.getLocation());
+                locationCodeByName.put(dest.getLocation(), code);
+            }
+            locationCodes[i] = code;
+        }
+        locationNames = names.toArray(new String[0]);
+
+        this.byDefault = new int[n];
+        for (int i = 0; i < n; i++) {
+            this.byDefault[i] = i;
+        }
+        this.byPopularity = permutation(byPopularity, positions);
+        this.byPrice = permutation(byPrice, positions);
+        this.byName = permutation(byName, positions);
+    }
+
+    /**
+     * @param sortBy "popularity", "price", "name" or anything else for the default (id) order
+     */
+    public FacetResult filter(DestinationFilter filter, String sortBy) {
+        int[] order = byDefault;
+        if ("popularity".equals(sortBy)) order = byPopularity;
+        else if ("price".equals(sortBy)) order = byPrice;
+        else if ("name".equals(sortBy)) order = byName;
+
+        // A location nobody has matches nothing
+        int wantedLocation = -1;
+        if (filter.getLocation() != null) {
+            Integer code = locationCodeByName.get(filter.getLocation());
+            wantedLocation = code == null ? -2 : code;
+        }
+
+        int[] priceCounts = new int[PRICE_BUCKET_BOUNDS.length];
+        int[] ratingCounts = new int[RATING_THRESHOLDS.length];
+        int[] locationCounts = new int[locationNames.length];
+        List<DestinationSummary> matches = new ArrayList<>();
+
+        for (int row : order) {
+            boolean priceOk = filter.matchesPrice(prices[row]);
+            boolean ratingOk = popularity[row] >= filter.getMinPopularity();
+            boolean locationOk = wantedLocation == -1 || locationCodes[row] == wantedLocation;
+
+            if (ratingOk && locationOk) {
+                priceCounts[priceBuckets[row]]++;
+            }
+            if (priceOk && locationOk) {
+                for (int t = 0; t < RATING_THRESHOLDS.length; t++) {
+                    if (popularity[row] >= RATING_THRESHOLDS[t]) {
+                        ratingCounts[t]++;
+                    }
+                }
+            }
+            if (priceOk && ratingOk) {
+                locationCounts[locationCodes[row]]++;
+                if (locationOk) {
+                    matches.add(rows[row]);
+                }
+            }
+        }
+        return new FacetResult(matches, priceCounts, ratingCounts, sortedLocationCounts(locationCounts));
+    }
+
+    /**
+     * Filters a list that is not part of the catalog, e.g. search hits, and counts
+     * its facets in the same pass. The matches keep the list's order.
+     */
+    public static FacetResult filter(List<DestinationSummary> destinations, DestinationFilter filter) {
+        return new FacetIndex(destinations, destinations, destinations, destinations).filter(filter, "default");
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    public static int priceBucketOf(double price) {
+        for (int b = 0; b < PRICE_BUCKET_BOUNDS.length - 1; b++) {
+            if (price < PRICE_BUCKET_BOUNDS[b][1]) {
+                return b;
+            }
+        }
+        return PRICE_BUCKET_BOUNDS.length - 1;
+    }
+
+    private Map<String, Integer> sortedLocationCounts(int[] counts) {
+        List<Integer> codes = new ArrayList<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                codes.add(code);
+            }
+        }
+        codes.sort((a, b) -> counts[a] != counts[b]
+                ? Integer.compare(counts[b], counts[a])
+                : locationNames[a].compareToIgnoreCase(locationNames[b]));
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        for (int code : codes) {
+            sorted.put(locationNames[code], counts[code]);
+        }
+        return sorted;
+    }
+
+    private static int[] permutation(List<DestinationSummary> sorted, Map<DestinationSummary, Integer> positions) {
+        int[] order = new int[sorted.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = positions.get(sorted.get(i));
+        }
+        return order;
+    }
+}
@@ -0,0 +1,46 @@
+package com.tourism.search;
+
+import com.tourism.model.DestinationSummary;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The destinations matching a DestinationFilter, in the requested order, with
+ * facet counts. Each facet is counted with every filter applied except its
+ * own, so it shows what picking another value of that facet would give.
+ */
+public final class FacetResult {
+
+    private final List<DestinationSummary> destinations;
+    private final int[] priceBucketCounts;
+    private final int[] ratingCounts;
+    private final Map<String, Integer> locationCounts;
+
+    FacetResult(List<DestinationSummary> destinations, int[] priceBucketCounts,
+                int[] ratingCounts, Map<String, Integer> locationCounts) {
+        this.destinations = Collections.unmodifiableList(destinations);
+        this.priceBucketCounts = priceBucketCounts;
+        this.ratingCounts = ratingCounts;
+        this.locationCounts = Collections.unmodifiableMap(locationCounts);
+    }
+
+    public List<DestinationSummary> getDestinations() { return destinations; }
+
+    /**
+     * @param bucket index into FacetIndex.PRICE_BUCKET_BOUNDS
+     */
+    public int getPriceBucketCount(int bucket) { return priceBucketCounts[bucket]; }
+
+    /**
+     * @param threshold index into FacetIndex.RATING_THRESHOLDS
+     * @return destinations rated at least that threshold
+     */
+    public int getRatingCount(int threshold) { return ratingCounts[threshold]; }
+
+    /**
+     * @return destinations per location, most first
+     */
+    public Map<String, Integer> getLocationCounts() { return locationCounts; }
+}
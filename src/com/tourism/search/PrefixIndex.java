@@ -0,0 +1,264 @@
+package com.tourism.search;
+
+import com.tourism.model.DestinationSummary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Prefix trie over destination names and locations for search-box autocomplete.
+ *
+ * Every name and location is indexed under its full text and under each word
+ * in it, so "ker" finds "Munnar, Kerala". Each node caches the best
+ * MAX_SUGGESTIONS entries below it, so a lookup is a walk down the prefix plus
+ * a copy of that list. Adding an entry merges it into the cached lists on its
+ * path; removing one clears them, and they are rebuilt from the children's
+ * lists on the next lookup.
+ *
+ * Not thread-safe; DestinationCatalog keeps it in step with its snapshots and
+ * guards it with its own lock.
+ */
+public class PrefixIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private Node root = new Node();
+    private final Map<Integer, Suggestion> byDestination = new HashMap<>();
+    private final Map<String, LocationGroup> byLocation = new HashMap<>();
+
+    /**
+     * Adds a destination, or replaces it if one with the same id is indexed.
+     */
+    public void put(DestinationSummary destination) {
+        remove(destination.getId());
+        Suggestion suggestion = Suggestion.forDestination(destination);
+        byDestination.put(destination.getId(), suggestion);
+        insert(suggestion);
+
+        String locationKey = normalize(destination.getLocation());
+        if (!locationKey.isEmpty()) {
+            LocationGroup group = byLocation.computeIfAbsent(locationKey,
+                    k -> new LocationGroup(destination.getLocation().trim()));
+            group.popularityById.put(destination.getId(), destination.getPopularity());
+            updateLocation(group);
+        }
+    }
+
+    /**
+     * Removes a destination. Does nothing if it is not indexed.
+     */
+    public void remove(int destinationId) {
+        Suggestion suggestion = byDestination.remove(destinationId);
+        if (suggestion == null) {
+            return;
+        }
+        delete(suggestion);
+
+        String locationKey = normalize(suggestion.getDestination().getLocation());
+        LocationGroup group = byLocation.get(locationKey);
+        if (group != null) {
+            group.popularityById.remove(destinationId);
+            updateLocation(group);
+            if (group.popularityById.isEmpty()) {
+                byLocation.remove(locationKey);
+            }
+        }
+    }
+
+    public void clear() {
+        root = new Node();
+        byDestination.clear();
+        byLocation.clear();
+    }
+
+    /**
+     * @return the number of indexed destinations
+     */
+    public int size() {
+        return byDestination.size();
+    }
+
+    /**
+     * Returns the best entries whose name or location, or a word in it, starts with prefix.
+     * @param limit at most MAX_SUGGESTIONS
+     * @return best first; empty for a blank prefix
+     */
+    public List<Suggestion> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return Collections.emptyList();
+        }
+        List<Suggestion> top = node.top();
+        return new ArrayList<>(top.subList(0, Math.min(limit, top.size())));
+    }
+
+    // --- Locations ---
+
+    private void updateLocation(LocationGroup group) {
+        if (group.current != null) {
+            delete(group.current);
+            group.current = null;
+        }
+        if (!group.popularityById.isEmpty()) {
+            double best = Collections.max(group.popularityById.values());
+            group.current = Suggestion.forLocation(group.text, best, group.popularityById.size());
+            insert(group.current);
+        }
+    }
+
+    private static final class LocationGroup {
+        final String text;
+        final Map<Integer, Double> popularityById = new LinkedHashMap<>();
+        Suggestion current;
+
+        LocationGroup(String text) {
+            this.text = text;
+        }
+    }
+
+    // --- Trie ---
+
+    private void insert(Suggestion suggestion) {
+        for (String key : keys(suggestion.getText())) {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.childOrCreate(key.charAt(i));
+                node.offer(suggestion);
+            }
+            node.terminals.add(suggestion);
+        }
+    }
+
+    private void delete(Suggestion suggestion) {
+        for (String key : keys(suggestion.getText())) {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+                if (node != null) {
+                    node.top = null;
+                }
+            }
+            if (node != null) {
+                node.terminals.remove(suggestion);
+            }
+        }
+    }
+
+    /**
+     * @return the full text and every suffix that starts a word
+     */
+    static List<String> keys(String text) {
+        String normalized = normalize(text);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            boolean wordStart = i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1));
+            if (wordStart && Character.isLetterOrDigit(normalized.charAt(i))) {
+                keys.add(normalized.substring(i));
+            }
+        }
+        if (keys.isEmpty() && !normalized.isEmpty()) {
+            keys.add(normalized);
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        // Trailing spaces are kept so "new " narrows to "New Delhi"
+        return text.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").replaceFirst("^ ", "");
+    }
+
+    private static final class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        char[] labels = new char[0];
+        Node[] children = NO_CHILDREN;
+        final List<Suggestion> terminals = new ArrayList<>(1);
+        List<Suggestion> top = new ArrayList<>(0); // null when it must be rebuilt
+
+        Node child(char c) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node childOrCreate(char c) {
+            Node child = child(c);
+            if (child == null) {
+                child = new Node();
+                labels = Arrays.copyOf(labels, labels.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                labels[labels.length - 1] = c;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+
+        /**
+         * Merges a new entry into the cached list, if it is valid.
+         */
+        void offer(Suggestion suggestion) {
+            if (top != null) {
+                merge(top, suggestion);
+            }
+        }
+
+        List<Suggestion> top() {
+            if (top == null) {
+                List<Suggestion> rebuilt = new ArrayList<>(MAX_SUGGESTIONS);
+                for (Suggestion suggestion : terminals) {
+                    merge(rebuilt, suggestion);
+                }
+                for (Node child : children) {
+                    for (Suggestion suggestion : child.top()) {
+                        merge(rebuilt, suggestion);
+                    }
+                }
+                top = rebuilt;
+            }
+            return top;
+        }
+
+        /**
+         * Inserts into a ranked list of at most MAX_SUGGESTIONS entries, skipping
+         * entries already present (one entry can sit under several keys).
+         */
+        private static void merge(List<Suggestion> ranked, Suggestion suggestion) {
+            int position = ranked.size();
+            for (int i = 0; i < ranked.size(); i++) {
+                Suggestion existing = ranked.get(i);
+                if (existing == suggestion) {
+                    return;
+                }
+                if (position == ranked.size() && Suggestion.RANKING.compare(suggestion, existing) < 0) {
+                    position = i;
+                }
+            }
+            if (position >= MAX_SUGGESTIONS) {
+                return;
+            }
+            ranked.add(position, suggestion);
+            if (ranked.size() > MAX_SUGGESTIONS) {
+                ranked.remove(ranked.size() - 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.tourism.search;
+
+import com.tourism.model.DestinationSummary;
+
+import java.util.Comparator;
+
+/**
+ * One autocomplete entry: either a destination or a location shared by one or
+ * more destinations. Immutable.
+ */
+public final class Suggestion {
+
+    public enum Kind { DESTINATION, LOCATION }
+
+    /**
+     * Best first: higher weight, destinations before locations, then alphabetically.
+     */
+    static final Comparator<Suggestion> RANKING = Comparator
+            .comparingDouble(Suggestion::getWeight).reversed()
+            .thenComparing(Suggestion::getKind)
+            .thenComparing(Suggestion::getText, String.CASE_INSENSITIVE_ORDER)
+            .thenComparingInt(s -> s.destination == null ? 0 : s.destination.getId());
+
+    private final Kind kind;
+    private final String text;
+    private final double weight;
+    private final int destinationCount;
+    private final DestinationSummary destination;
+
+    private Suggestion(Kind kind, String text, double weight, int destinationCount, DestinationSummary destination) {
+        this.kind = kind;
+        this.text = text;
+        this.weight = weight;
+        this.destinationCount = destinationCount;
+        this.destination = destination;
+    }
+
+    static Suggestion forDestination(DestinationSummary destination) {
+        return new Suggestion(Kind.DESTINATION, destination.getName(), destination.getPopularity(), 1, destination);
+    }
+
+    static Suggestion forLocation(String location, double weight, int destinationCount) {
+        return new Suggestion(Kind.LOCATION, location, weight, destinationCount, null);
+    }
+
+    public Kind getKind() { return kind; }
+    public String getText() { return text; }
+
+    /**
+     * @return the popularity of the destination, or of the most popular destination at the location
+     */
+    public double getWeight() { return weight; }
+
+    /**
+     * @return 1 for a destination, the number of destinations at a location
+     */
+    public int getDestinationCount() { return destinationCount; }
+
+    /**
+     * @return the destination, or null for a location
+     */
+    public DestinationSummary getDestination() { return destination; }
+
+    @Override
+    public String toString() {
+        return kind == Kind.DESTINATION ? text + " (" + destination.getLocation() + ")" : text;
+    }
+}
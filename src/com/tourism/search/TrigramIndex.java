@@ -0,0 +1,232 @@
+package com.tourism.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Typo-tolerant word index for fuzzy search.
+ *
+ * Every word of a destination's name, location and spots is split into
+ * trigrams (padded, so "goa" gives "  g", " go", "goa", "oa "). A query word
+ * matches an indexed word when the Jaccard similarity of their trigram sets is
+ * at least MIN_SIMILARITY, so "jaipor" finds "jaipur" and "goaa" finds "goa".
+ * A destination scores the best match of each query word, weighted by the
+ * field it was found in, averaged over the query words.
+ *
+ * Words are interned once and never dropped; removing a destination only
+ * unlinks it from its words. Not thread-safe; DestinationCatalog guards it.
+ */
+public class TrigramIndex {
+
+    public static final double MIN_SIMILARITY = 0.3;
+
+    static final float NAME_WEIGHT = 1.0f;
+    static final float LOCATION_WEIGHT = 0.8f;
+    static final float SPOTS_WEIGHT = 0.5f;
+
+    /**
+     * A fuzzy search hit.
+     */
+    public static final class Match {
+        private final int destinationId;
+        private final double score;
+
+        Match(int destinationId, double score) {
+            this.destinationId = destinationId;
+            this.score = score;
+        }
+
+        public int getDestinationId() { return destinationId; }
+
+        /**
+         * @return between 0 and 1; 1 when every query word is in the name
+         */
+        public double getScore() { return score; }
+    }
+
+    // Word dictionary: id -> text, trigram count and the destinations containing it
+    private final Map<String, Integer> wordIds = new HashMap<>();
+    private final List<String> words = new ArrayList<>();
+    private int[] wordGramCounts = new int[64];
+    private final List<Map<Integer, Float>> wordDestinations = new ArrayList<>();
+
+    // Trigram -> ids of the words containing it
+    private final Map<Long, IntList> gramPostings = new HashMap<>();
+
+    // Destination -> its words, so it can be unlinked
+    private final Map<Integer, int[]> destinationWords = new HashMap<>();
+
+    // Scratch space for search, sized to the dictionary
+    private int[] sharedGrams = new int[64];
+
+    /**
+     * Indexes a destination, replacing it if it is already indexed.
+     * @param spots tourist spots, local spots and shops; may be null
+     */
+    public void put(int destinationId, String name, String location, String spots) {
+        remove(destinationId);
+        Map<Integer, Float> weights = new HashMap<>();
+        addWords(weights, name, NAME_WEIGHT);
+        addWords(weights, location, LOCATION_WEIGHT);
+        addWords(weights, spots, SPOTS_WEIGHT);
+
+        int[] linked = new int[weights.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Float> entry : weights.entrySet()) {
+            wordDestinations.get(entry.getKey()).put(destinationId, entry.getValue());
+            linked[i++] = entry.getKey();
+        }
+        destinationWords.put(destinationId, linked);
+    }
+
+    public void remove(int destinationId) {
+        int[] linked = destinationWords.remove(destinationId);
+        if (linked != null) {
+            for (int wordId : linked) {
+                wordDestinations.get(wordId).remove(destinationId);
+            }
+        }
+    }
+
+    /**
+     * @return the number of indexed destinations
+     */
+    public int size() {
+        return destinationWords.size();
+    }
+
+    /**
+     * @return the best matches, highest score first; ties keep no particular order
+     */
+    public List<Match> search(String query, int limit) {
+        Set<String> queryWords = new LinkedHashSet<>(tokenize(query));
+        if (queryWords.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        Map<Integer, Double> scores = new HashMap<>();
+        for (String queryWord : queryWords) {
+            Map<Integer, Double> best = bestPerDestination(queryWord);
+            for (Map.Entry<Integer, Double> entry : best.entrySet()) {
+                scores.merge(entry.getKey(), entry.getValue(), Double::sum);
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(scores.size());
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            matches.add(new Match(entry.getKey(), entry.getValue() / queryWords.size()));
+        }
+        matches.sort((a, b) -> Double.compare(b.score, a.score));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * @return for each destination containing a word similar to queryWord, the best weighted similarity
+     */
+    private Map<Integer, Double> bestPerDestination(String queryWord) {
+        long[] grams = grams(queryWord);
+        IntList touched = new IntList();
+        for (long gram : grams) {
+            IntList posting = gramPostings.get(gram);
+            if (posting == null) continue;
+            for (int i = 0; i < posting.size; i++) {
+                int wordId = posting.values[i];
+                if (sharedGrams[wordId]++ == 0) {
+                    touched.add(wordId);
+                }
+            }
+        }
+
+        Map<Integer, Double> best = new HashMap<>();
+        for (int i = 0; i < touched.size; i++) {
+            int wordId = touched.values[i];
+            int shared = sharedGrams[wordId];
+            sharedGrams[wordId] = 0;
+            double similarity = (double) shared / (grams.length + wordGramCounts[wordId] - shared);
+            if (similarity < MIN_SIMILARITY) continue;
+            for (Map.Entry<Integer, Float> entry : wordDestinations.get(wordId).entrySet()) {
+                best.merge(entry.getKey(), similarity * entry.getValue(), Math::max);
+            }
+        }
+        return best;
+    }
+
+    private void addWords(Map<Integer, Float> weights, String text, float weight) {
+        for (String word : tokenize(text)) {
+            weights.merge(intern(word), weight, Math::max);
+        }
+    }
+
+    private int intern(String word) {
+        Integer existing = wordIds.get(word);
+        if (existing != null) {
+            return existing;
+        }
+        int wordId = words.size();
+        words.add(word);
+        wordIds.put(word, wordId);
+        wordDestinations.add(new HashMap<>(4));
+        long[] grams = grams(word);
+        if (wordId >= wordGramCounts.length) {
+            wordGramCounts = Arrays.copyOf(wordGramCounts, wordGramCounts.length * 2);
+            sharedGrams = Arrays.copyOf(sharedGrams, wordGramCounts.length);
+        }
+        wordGramCounts[wordId] = grams.length;
+        for (long gram : grams) {
+            gramPostings.computeIfAbsent(gram, g -> new IntList()).add(wordId);
+        }
+        return wordId;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * @return the distinct trigrams of a word padded with two leading and one trailing space,
+     *         each packed into a long
+     */
+    static long[] grams(String word) {
+        String padded = "  " + word + " ";
+        long[] grams = new long[padded.length() - 2];
+        int count = 0;
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            long gram = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+            boolean seen = false;
+            for (int j = 0; j < count && !seen; j++) {
+                seen = grams[j] == gram;
+            }
+            if (!seen) {
+                grams[count++] = gram;
+            }
+        }
+        return count == grams.length ? grams : Arrays.copyOf(grams, count);
+    }
+
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
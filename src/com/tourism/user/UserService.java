@@ -1,28 +1,40 @@
 package com.tourism.user;
 
+import com.tourism.database.DatabaseManager;
 import com.tourism.model.User;
 
 /**
  * A service class to hold the *currently logged-in* user's state.
  * MODIFIED:
  * - Added isAdmin() method.
+ * - Loads the user's saved places once at login.
+ * - Holds the dashboard card style ("Standard" or "Lightweight"); the default
+ *   can be set with -Dtourism.cardStyle.
  */
 public class UserService {
 
+    private DatabaseManager dbManager;
     private User currentUser;
     private String theme;
+    private String cardStyle;
 
-    public UserService() {
+    public UserService(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
         this.currentUser = null;
         this.theme = "Light"; // Default theme
+        this.cardStyle = System.getProperty("tourism.cardStyle", "Standard");
     }
 
     // --- User Session ---
     public void login(User user) {
         this.currentUser = user;
+        dbManager.loadSavedPlaces(user.getId()); // Kept by DatabaseManager until logout
     }
 
     public void logout() {
+        if (this.currentUser != null) {
+            dbManager.releaseSavedPlaces(this.currentUser.getId());
+        }
         this.currentUser = null;
     }
 
@@ -60,4 +72,13 @@ public class UserService {
     public void setTheme(String theme) {
         this.theme = theme;
     }
+
+    // --- Card Style Settings ---
+    public String getCardStyle() {
+        return cardStyle;
+    }
+
+    public void setCardStyle(String cardStyle) {
+        this.cardStyle = cardStyle;
+    }
 }
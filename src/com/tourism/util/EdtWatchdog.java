@@ -0,0 +1,227 @@
+package com.tourism.util;
+
+import java.awt.EventQueue;
+import java.awt.KeyboardFocusManager;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Opt-in watchdog that measures how responsive the Event Dispatch Thread is.
+ *
+ * A daemon thread posts a small probe to the EDT every {@value #PROBE_INTERVAL_MS} ms and
+ * records how long it waited to run (the event dispatch latency) in a LatencyHistogram.
+ * If a probe is still waiting after the stall threshold, the EDT's stack is captured so
+ * the report shows what was blocking it (a query, image decoding, layout...).
+ *
+ * Enable with -Dtourism.edtWatchdog=true. Optional settings:
+ * - tourism.edtWatchdog.thresholdMs : stall threshold, default 100
+ * - tourism.edtWatchdog.report      : file the report is appended to at exit (default: stderr)
+ * The report is also printed on demand with Ctrl+Shift+F12.
+ * Note: the steady stream of probes keeps AWT from shutting down on its own, so the
+ * application has to exit explicitly (MainFrame uses EXIT_ON_CLOSE).
+ */
+public class EdtWatchdog {
+
+    public static final String ENABLED_PROPERTY = "tourism.edtWatchdog";
+    public static final String THRESHOLD_PROPERTY = "tourism.edtWatchdog.thresholdMs";
+    public static final String REPORT_PROPERTY = "tourism.edtWatchdog.report";
+
+    private static final long PROBE_INTERVAL_MS = 50;
+    private static final long DEFAULT_THRESHOLD_MS = 100;
+    private static final int MAX_STALLS_KEPT = 25;
+    private static final int MAX_STACK_DEPTH = 25;
+
+    private static EdtWatchdog instance;
+
+    private final long thresholdNanos;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Deque<Stall> stalls = new ArrayDeque<>();
+    private final long startedAt = System.currentTimeMillis();
+    private long stallCount = 0;
+    private long longestStallNanos = 0;
+
+    private volatile Thread edtThread;
+    private volatile boolean running = true;
+
+    // The probe currently waiting on the EDT; only touched by the sampler thread
+    private long probePostedAt;
+    private volatile boolean probeDone = true;
+    private volatile StackTraceElement[] stallStack;
+
+    /** One recorded stall: when it happened, how long it lasted and what the EDT was doing. */
+    private static class Stall {
+        final LocalDateTime at;
+        final long durationNanos;
+        final StackTraceElement[] stack;
+
+        Stall(LocalDateTime at, long durationNanos, StackTraceElement[] stack) {
+            this.at = at;
+            this.durationNanos = durationNanos;
+            this.stack = stack;
+        }
+    }
+
+    private EdtWatchdog(long thresholdMs) {
+        this.thresholdNanos = thresholdMs * 1_000_000L;
+    }
+
+    /**
+     * Starts the watchdog if it was enabled with -Dtourism.edtWatchdog=true.
+     * Safe to call more than once.
+     */
+    public static synchronized void installIfEnabled() {
+        if (instance != null || !Boolean.getBoolean(ENABLED_PROPERTY)) {
+            return;
+        }
+        long thresholdMs = Long.getLong(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD_MS);
+        instance = new EdtWatchdog(thresholdMs);
+        instance.start();
+        System.out.println("EDT watchdog enabled (stall threshold " + thresholdMs + " ms)");
+    }
+
+    /**
+     * @return the running watchdog, or null if it is not enabled
+     */
+    public static synchronized EdtWatchdog getInstance() {
+        return instance;
+    }
+
+    private void start() {
+        Thread sampler = new Thread(this::sampleLoop, "edt-watchdog");
+        sampler.setDaemon(true);
+        sampler.start();
+
+        // Ctrl+Shift+F12 prints the report without stopping the app
+        KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(e -> {
+            if (e.getID() == KeyEvent.KEY_PRESSED && e.getKeyCode() == KeyEvent.VK_F12
+                    && (e.getModifiersEx() & (InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK))
+                    == (InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK)) {
+                System.err.print(getReport());
+                return true;
+            }
+            return false;
+        });
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            running = false;
+            writeReportAtExit();
+        }, "edt-watchdog-report"));
+    }
+
+    private void sampleLoop() {
+        while (running) {
+            try {
+                if (probeDone) {
+                    postProbe();
+                } else {
+                    checkForStall();
+                }
+                Thread.sleep(probeDone ? PROBE_INTERVAL_MS : Math.max(1, PROBE_INTERVAL_MS / 5));
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void postProbe() {
+        long postedAt = System.nanoTime();
+        probePostedAt = postedAt;
+        stallStack = null;
+        probeDone = false;
+        EventQueue.invokeLater(() -> {
+            edtThread = Thread.currentThread();
+            long waited = System.nanoTime() - postedAt;
+            latency.record(waited);
+            if (waited >= thresholdNanos) {
+                recordStall(waited);
+            }
+            probeDone = true;
+        });
+    }
+
+    /**
+     * Captures the EDT's stack once per stall, while it is still blocked.
+     */
+    private void checkForStall() {
+        Thread edt = edtThread;
+        if (stallStack == null && edt != null && System.nanoTime() - probePostedAt >= thresholdNanos) {
+            StackTraceElement[] stack = edt.getStackTrace();
+            stallStack = stack.length > MAX_STACK_DEPTH
+                    ? Arrays.copyOf(stack, MAX_STACK_DEPTH) : stack;
+        }
+    }
+
+    // Runs on the EDT, after the sampler captured the stack (or not, for stalls shorter than a sample)
+    private synchronized void recordStall(long durationNanos) {
+        stallCount++;
+        longestStallNanos = Math.max(longestStallNanos, durationNanos);
+        StackTraceElement[] stack = stallStack != null ? stallStack : new StackTraceElement[0];
+        stalls.addLast(new Stall(LocalDateTime.now(), durationNanos, stack));
+        if (stalls.size() > MAX_STALLS_KEPT) {
+            stalls.removeFirst();
+        }
+    }
+
+    public LatencyHistogram getLatencyHistogram() {
+        return latency;
+    }
+
+    public synchronized long getStallCount() {
+        return stallCount;
+    }
+
+    /**
+     * Builds the human readable report: the dispatch latency histogram and the
+     * most recent stalls with the stack the EDT was blocked in.
+     */
+    public String getReport() {
+        List<Stall> recent;
+        long count;
+        long longest;
+        synchronized (this) {
+            recent = new ArrayList<>(stalls);
+            count = stallCount;
+            longest = longestStallNanos;
+        }
+
+        DateTimeFormatter time = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+        StringBuilder sb = new StringBuilder();
+        sb.append("===== EDT watchdog report (").append((System.currentTimeMillis() - startedAt) / 1000).append(" s) =====\n");
+        sb.append("Event dispatch latency:\n").append(latency.format());
+        sb.append(String.format("Stalls >= %d ms: %d (longest %.1f ms)%n", thresholdNanos / 1_000_000, count, longest / 1_000_000.0));
+        for (Stall stall : recent) {
+            sb.append(String.format("-- %s stalled %.1f ms%n", stall.at.format(time), stall.durationNanos / 1_000_000.0));
+            if (stall.stack.length == 0) {
+                sb.append("     (stack not captured)\n");
+            }
+            for (StackTraceElement frame : stall.stack) {
+                sb.append("     at ").append(frame).append('\n');
+            }
+        }
+        sb.append("=====\n");
+        return sb.toString();
+    }
+
+    private void writeReportAtExit() {
+        String path = System.getProperty(REPORT_PROPERTY);
+        if (path == null || path.isEmpty()) {
+            System.err.print(getReport());
+            return;
+        }
+        try (PrintStream out = new PrintStream(new FileOutputStream(path, true), true, "UTF-8")) {
+            out.print(getReport());
+        } catch (Exception e) {
+            System.err.println("Could not write EDT watchdog report to " + path + ": " + e.getMessage());
+            System.err.print(getReport());
+        }
+    }
+}
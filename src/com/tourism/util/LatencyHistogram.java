@@ -0,0 +1,103 @@
+package com.tourism.util;
+
+import java.util.Arrays;
+
+/**
+ * Thread-safe histogram of latencies in milliseconds.
+ *
+ * Buckets grow in powers of two (under 1 ms, 1-2 ms, 2-4 ms, ... up to 4 s and over),
+ * which keeps recording cheap and is precise enough to tell a smooth UI from a stuttering one.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 14; // [0,1) [1,2) [2,4) ... [2048,4096) [4096,inf)
+
+    private final long[] counts = new long[BUCKETS];
+    private long total = 0;
+    private double sumMs = 0;
+    private double maxMs = 0;
+
+    /**
+     * Records one latency.
+     * @param latencyNanos The measured latency in nanoseconds.
+     */
+    public synchronized void record(long latencyNanos) {
+        double ms = latencyNanos / 1_000_000.0;
+        counts[bucketFor(ms)]++;
+        total++;
+        sumMs += ms;
+        if (ms > maxMs) {
+            maxMs = ms;
+        }
+    }
+
+    public synchronized long getCount() {
+        return total;
+    }
+
+    public synchronized double getMeanMs() {
+        return total == 0 ? 0 : sumMs / total;
+    }
+
+    public synchronized double getMaxMs() {
+        return maxMs;
+    }
+
+    /**
+     * Returns an upper bound for the given percentile, i.e. the upper edge of
+     * the bucket that contains it (or the maximum for the last bucket).
+     * @param percentile A value between 0 and 100.
+     */
+    public synchronized double getPercentileMs(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundMs(i), maxMs);
+            }
+        }
+        return maxMs;
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        sumMs = 0;
+        maxMs = 0;
+    }
+
+    /**
+     * @return a multi-line summary with one line per non-empty bucket
+     */
+    public synchronized String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("count=%d mean=%.2fms p50<=%.1fms p90<=%.1fms p99<=%.1fms max=%.1fms%n",
+                total, getMeanMs(), getPercentileMs(50), getPercentileMs(90), getPercentileMs(99), maxMs));
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] == 0) continue;
+            String range = (i == BUCKETS - 1)
+                    ? String.format(">= %d ms", (long) lowerBoundMs(i))
+                    : String.format("%d-%d ms", (long) lowerBoundMs(i), (long) upperBoundMs(i));
+            sb.append(String.format("  %-14s %8d  %5.1f%%%n", range, counts[i], 100.0 * counts[i] / total));
+        }
+        return sb.toString();
+    }
+
+    private static int bucketFor(double ms) {
+        if (ms < 1) return 0;
+        int bucket = 1 + (63 - Long.numberOfLeadingZeros((long) ms));
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static double lowerBoundMs(int bucket) {
+        return bucket == 0 ? 0 : 1L << (bucket - 1);
+    }
+
+    private static double upperBoundMs(int bucket) {
+        return bucket == BUCKETS - 1 ? Double.MAX_VALUE : 1L << bucket;
+    }
+}
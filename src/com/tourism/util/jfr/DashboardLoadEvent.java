@@ -0,0 +1,14 @@
+package com.tourism.util.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.tourism.DashboardLoad")
+@Label("Dashboard Load")
+@Description("DashboardPanel.loadDestinations, from the request until the cards are laid out")
+public class DashboardLoadEvent extends ListingEvent {
+
+    @Label("Sort By")
+    public String sortBy;
+}
@@ -0,0 +1,27 @@
+package com.tourism.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.tourism.DatabaseQuery")
+@Label("Database Query")
+@Category({"Tourism Guide", "Database"})
+@Description("One statement run by DatabaseManager")
+public class DatabaseQueryEvent extends Event {
+
+    @Label("Name")
+    public String name;
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Rows")
+    @Description("Rows returned by a query or changed by an update")
+    public int rows;
+
+    @Label("Failed")
+    public boolean failed;
+}
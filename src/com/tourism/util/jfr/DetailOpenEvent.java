@@ -0,0 +1,24 @@
+package com.tourism.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.tourism.DetailOpen")
+@Label("Detail Open")
+@Category({"Tourism Guide", "Detail"})
+@Description("MainFrame.showDetailPanel, from the click until the full destination is displayed")
+public class DetailOpenEvent extends Event {
+
+    @Label("Destination Id")
+    public int destinationId;
+
+    @Label("Prefetched")
+    @Description("The record came from the hover prefetcher instead of a query")
+    public boolean prefetched;
+
+    @Label("Found")
+    public boolean found;
+}
@@ -0,0 +1,68 @@
+package com.tourism.util.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Starts a flight recording from inside the app when -Dtourism.jfr=FILE is set.
+ *
+ * The recording uses the JDK's "default" profile with the bundled
+ * /com/tourism/resources/jfr/tourism.jfc on top, and is written to FILE when the
+ * app exits. Open it in JDK Mission Control or summarize it with
+ * {@code jfr print --events com.tourism.* FILE}.
+ */
+public final class FlightRecording {
+
+    public static final String FILE_PROPERTY = "tourism.jfr";
+    public static final String SETTINGS_RESOURCE = "/com/tourism/resources/jfr/tourism.jfc";
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Starts the recording if the property is set. Does nothing otherwise.
+     */
+    public static void startIfEnabled() {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file == null || file.isEmpty()) {
+            return;
+        }
+        try {
+            Path destination = Paths.get(file).toAbsolutePath();
+            Recording recording = new Recording(loadSettings());
+            recording.setName("Tourism Guide");
+            recording.setToDisk(true);
+            recording.setDestination(destination);
+            recording.setDumpOnExit(true);
+            recording.start();
+            System.out.println("Flight recording to " + destination);
+        } catch (Exception e) {
+            System.err.println("Could not start flight recording: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the default JDK settings with the bundled tourism settings applied on top
+     */
+    public static Map<String, String> loadSettings() throws Exception {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        InputStream is = FlightRecording.class.getResourceAsStream(SETTINGS_RESOURCE);
+        if (is == null) {
+            System.err.println("Could not find JFR settings at: " + SETTINGS_RESOURCE);
+            return settings;
+        }
+        try (Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+        return settings;
+    }
+}
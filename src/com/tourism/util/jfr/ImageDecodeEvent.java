@@ -0,0 +1,38 @@
+package com.tourism.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.tourism.ImageDecode")
+@Label("Image Decode")
+@Category({"Tourism Guide", "Images"})
+@Description("An ImageCache lookup (used by CardFactory and the detail panel), including decoding and scaling on a miss")
+@StackTrace(false)
+public class ImageDecodeEvent extends Event {
+
+    @Label("Path")
+    public String path;
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Width")
+    public int width;
+
+    @Label("Height")
+    public int height;
+
+    @Label("Source Width")
+    public int sourceWidth;
+
+    @Label("Source Height")
+    public int sourceHeight;
+
+    @Label("Decoded")
+    @Description("False if the image was missing or unreadable")
+    public boolean decoded;
+}
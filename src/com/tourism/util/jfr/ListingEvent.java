@@ -0,0 +1,29 @@
+package com.tourism.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Timespan;
+
+/**
+ * Common fields of the dashboard listing events: from the request until the
+ * cards are laid out, with the time split the same way as DashboardPanel.LoadTiming.
+ */
+@Category({"Tourism Guide", "Dashboard"})
+public abstract class ListingEvent extends Event {
+
+    @Label("Results")
+    public int resultCount;
+
+    @Label("Query Time")
+    @Timespan(Timespan.MILLISECONDS)
+    public long queryMillis;
+
+    @Label("Card Build Time")
+    @Timespan(Timespan.MILLISECONDS)
+    public long buildMillis;
+
+    @Label("Layout Time")
+    @Timespan(Timespan.MILLISECONDS)
+    public long layoutMillis;
+}
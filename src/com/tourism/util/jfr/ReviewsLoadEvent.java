@@ -0,0 +1,23 @@
+package com.tourism.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.tourism.ReviewsLoad")
+@Label("Reviews Load")
+@Category({"Tourism Guide", "Detail"})
+@Description("DestinationDetailPanel loading and showing the reviews of a destination")
+public class ReviewsLoadEvent extends Event {
+
+    @Label("Destination Id")
+    public int destinationId;
+
+    @Label("Reviews")
+    public int reviewCount;
+
+    @Label("Prefetched")
+    public boolean prefetched;
+}
@@ -0,0 +1,14 @@
+package com.tourism.util.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.tourism.Search")
+@Label("Search")
+@Description("DashboardPanel.searchDestinations, from the keystroke until the results are laid out")
+public class SearchEvent extends ListingEvent {
+
+    @Label("Query")
+    public String query;
+}